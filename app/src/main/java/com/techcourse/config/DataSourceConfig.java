@@ -1,16 +1,20 @@
 package com.techcourse.config;
 
+import com.interface21.jdbc.datasource.PooledDataSource;
+import com.interface21.jdbc.datasource.StatementCachingDataSource;
 import org.h2.jdbcx.JdbcDataSource;
 
 import java.util.Objects;
 
 public class DataSourceConfig {
 
+    private static final int MAXIMUM_POOL_SIZE = 10;
+
     private static javax.sql.DataSource INSTANCE;
 
     public static javax.sql.DataSource getInstance() {
         if (Objects.isNull(INSTANCE)) {
-            INSTANCE = createJdbcDataSource();
+            INSTANCE = new PooledDataSource(new StatementCachingDataSource(createJdbcDataSource()), MAXIMUM_POOL_SIZE);
         }
         return INSTANCE;
     }
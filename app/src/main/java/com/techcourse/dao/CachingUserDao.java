@@ -0,0 +1,148 @@
+package com.techcourse.dao;
+
+import com.interface21.dao.DataAccessException;
+import com.interface21.jdbc.core.JdbcTemplate;
+import com.interface21.jdbc.datasource.DataSourceUtils;
+import com.interface21.transaction.support.TransactionSynchronization;
+import com.interface21.transaction.support.TransactionSynchronizationManager;
+import com.techcourse.domain.User;
+import com.techcourse.support.cache.SegmentedLruCache;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * id와 account로 User를 캐시하는 UserDao.
+ * 캐시에는 스냅샷을 보관하고 조회할 때마다 복사본을 돌려주므로, 호출자가 User를 수정해도 캐시는 바뀌지 않는다.
+ * 트랜잭션 안의 insert/update는 즉시 캐시에서 제거하고, 커밋된 뒤에 새 값을 캐시에 쓴다.
+ * 변경한 트랜잭션 자신은 커밋 전까지 캐시를 거치지 않고 DB에서 읽는다.
+ */
+public class CachingUserDao extends UserDao {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SegmentedLruCache<Long, User> usersById;
+    private final SegmentedLruCache<String, User> usersByAccount;
+    private final Set<Connection> dirtyTransactions = Collections.synchronizedSet(
+            Collections.newSetFromMap(new IdentityHashMap<>()));
+
+    public CachingUserDao(final JdbcTemplate jdbcTemplate, final int maximumSize) {
+        super(jdbcTemplate);
+        this.jdbcTemplate = jdbcTemplate;
+        this.usersById = new SegmentedLruCache<>(maximumSize);
+        this.usersByAccount = new SegmentedLruCache<>(maximumSize);
+    }
+
+    @Override
+    public void insert(final Connection connection, final User user) {
+        super.insert(connection, user);
+        afterWrite(connection, user);
+    }
+
+    @Override
+    public void insert(final User user) {
+        super.insert(user);
+        afterWrite(currentTransaction(), user);
+    }
+
+    @Override
+    public void update(final Connection connection, final User user) {
+        super.update(connection, user);
+        afterWrite(connection, user);
+    }
+
+    @Override
+    public void update(final User user) {
+        super.update(user);
+        afterWrite(currentTransaction(), user);
+    }
+
+    @Override
+    public User findById(final Long id) {
+        if (isDirty(currentTransaction())) {
+            return super.findById(id);
+        }
+        return copyOf(usersById.get(id, super::findById));
+    }
+
+    @Override
+    public User findByAccount(final String account) {
+        if (isDirty(currentTransaction())) {
+            return super.findByAccount(account);
+        }
+        return copyOf(usersByAccount.get(account, super::findByAccount));
+    }
+
+    public long getHitCount() {
+        return usersById.getHitCount() + usersByAccount.getHitCount();
+    }
+
+    public long getMissCount() {
+        return usersById.getMissCount() + usersByAccount.getMissCount();
+    }
+
+    private void afterWrite(final Connection connection, final User user) {
+        final var snapshot = copyOf(user);
+        if (connection == null || !isTransactional(connection)) {
+            cache(snapshot);
+            return;
+        }
+        evict(snapshot);
+        if (!DataSourceUtils.isConnectionTransactional(connection, jdbcTemplate.getDataSource(), jdbcTemplate.getResourceContext())) {
+            // 직접 넘겨받은 Connection의 트랜잭션은 언제 끝나는지 알 수 없으므로 제거만 한다.
+            return;
+        }
+        if (dirtyTransactions.add(connection)) {
+            TransactionSynchronizationManager.registerSynchronization(connection, new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(final boolean committed) {
+                    dirtyTransactions.remove(connection);
+                }
+            });
+        }
+        TransactionSynchronizationManager.registerSynchronization(connection, new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(final boolean committed) {
+                if (committed) {
+                    cache(snapshot);
+                } else {
+                    evict(snapshot);
+                }
+            }
+        });
+    }
+
+    private Connection currentTransaction() {
+        return jdbcTemplate.getResourceContext().getResource(jdbcTemplate.getDataSource());
+    }
+
+    private boolean isDirty(final Connection connection) {
+        return connection != null && dirtyTransactions.contains(connection);
+    }
+
+    private boolean isTransactional(final Connection connection) {
+        try {
+            return !connection.getAutoCommit();
+        } catch (SQLException e) {
+            throw new DataAccessException(e);
+        }
+    }
+
+    private void cache(final User snapshot) {
+        usersById.put(snapshot.getId(), snapshot);
+        usersByAccount.put(snapshot.getAccount(), snapshot);
+    }
+
+    private void evict(final User snapshot) {
+        usersById.invalidate(snapshot.getId());
+        usersByAccount.invalidate(snapshot.getAccount());
+    }
+
+    private User copyOf(final User user) {
+        if (user == null) {
+            return null;
+        }
+        return new User(user.getId(), user.getAccount(), user.getPassword(), user.getEmail());
+    }
+}
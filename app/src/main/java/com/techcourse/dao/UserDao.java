@@ -2,9 +2,12 @@ package com.techcourse.dao;
 
 import com.interface21.jdbc.core.BeanPropertyRowMapper;
 import com.interface21.jdbc.core.JdbcTemplate;
+import com.interface21.jdbc.core.KeyHolder;
 import com.techcourse.domain.User;
 import java.sql.Connection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Flow;
 import javax.sql.DataSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,24 +17,35 @@ public class UserDao {
     private static final Logger log = LoggerFactory.getLogger(UserDao.class);
 
     private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate readOnlyJdbcTemplate;
     private final BeanPropertyRowMapper<User> userMapper = new BeanPropertyRowMapper<>(User.class);
 
     public UserDao(final DataSource dataSource) {
-        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this(new JdbcTemplate(dataSource));
     }
 
     public UserDao(final JdbcTemplate jdbcTemplate) {
         this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyJdbcTemplate = jdbcTemplate.readOnly();
+        final var queryResultCache = jdbcTemplate.getQueryResultCache();
+        if (queryResultCache != null) {
+            // 서비스가 조회한 User의 비밀번호를 바꾸므로 캐시에는 복사본을 둔다.
+            queryResultCache.registerCopier(User.class, UserDao::copyOf);
+        }
     }
 
     public void insert(Connection connection, User user) {
         final var sql = "insert into users (account, password, email) values (?, ?, ?)";
-        jdbcTemplate.update(connection, sql, user.getAccount(), user.getPassword(), user.getEmail());
+        final var keyHolder = new KeyHolder();
+        jdbcTemplate.update(connection, sql, keyHolder, user.getAccount(), user.getPassword(), user.getEmail());
+        user.setId(keyHolder.getKey());
     }
 
     public void insert(User user) {
         final var sql = "insert into users (account, password, email) values (?, ?, ?)";
-        jdbcTemplate.update(sql, user.getAccount(), user.getPassword(), user.getEmail());
+        final var keyHolder = new KeyHolder();
+        jdbcTemplate.update(sql, keyHolder, user.getAccount(), user.getPassword(), user.getEmail());
+        user.setId(keyHolder.getKey());
     }
 
     public void update(Connection connection, User user) {
@@ -46,7 +60,22 @@ public class UserDao {
 
     public List<User> findAll() {
         final var sql = "select id, account, password, email from users";
-        return jdbcTemplate.query(sql, userMapper);
+        return readOnlyJdbcTemplate.query(sql, userMapper);
+    }
+
+    public List<User> findAllAfter(final long id, final int limit) {
+        final var sql = "select id, account, password, email from users";
+        return readOnlyJdbcTemplate.seekPage(sql, "id", limit, id, userMapper).content();
+    }
+
+    public Iterator<User> iterateAll(final int pageSize) {
+        final var sql = "select id, account, password, email from users";
+        return readOnlyJdbcTemplate.keysetIterator(sql, "id", pageSize, userMapper);
+    }
+
+    public Flow.Publisher<User> publishAll() {
+        final var sql = "select id, account, password, email from users";
+        return readOnlyJdbcTemplate.queryForPublisher(sql, userMapper);
     }
 
     public User findById(Connection connection, final Long id) {
@@ -63,4 +92,8 @@ public class UserDao {
         final var sql = "select id, account, password, email from users where account = ?";
         return jdbcTemplate.queryForObject(sql, userMapper, account);
     }
+
+    private static User copyOf(final User user) {
+        return new User(user.getId(), user.getAccount(), user.getPassword(), user.getEmail());
+    }
 }
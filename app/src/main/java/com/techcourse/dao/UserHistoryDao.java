@@ -1,8 +1,13 @@
 package com.techcourse.dao;
 
+import com.interface21.jdbc.core.BulkInsertWriter;
 import com.interface21.jdbc.core.JdbcTemplate;
+import com.interface21.jdbc.core.namedparam.BeanPropertySqlParameterSource;
+import com.interface21.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import com.techcourse.domain.UserHistory;
 import java.sql.Connection;
+import java.util.Collection;
+import java.util.List;
 import javax.sql.DataSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,25 +16,39 @@ public class UserHistoryDao {
 
     private static final Logger log = LoggerFactory.getLogger(UserHistoryDao.class);
 
-    private final JdbcTemplate jdbcTemplate;
+    private static final String INSERT_SQL = "insert into user_history (user_id, account, password, email, created_at, created_by) "
+            + "values (:userId, :account, :password, :email, :createdAt, :createBy)";
+
+    private static final List<String> INSERT_COLUMNS = List.of("user_id", "account", "password", "email", "created_at", "created_by");
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final BulkInsertWriter<UserHistory> bulkWriter;
 
     public UserHistoryDao(final DataSource dataSource) {
-        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this(new JdbcTemplate(dataSource));
     }
 
     public UserHistoryDao(final JdbcTemplate jdbcTemplate) {
-        this.jdbcTemplate = jdbcTemplate;
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.bulkWriter = new BulkInsertWriter<>(jdbcTemplate, "user_history", INSERT_COLUMNS, history -> new Object[]{
+                history.getUserId(), history.getAccount(), history.getPassword(),
+                history.getEmail(), history.getCreatedAt(), history.getCreateBy()
+        });
+    }
+
+    public void log(UserHistory userHistory) {
+        jdbcTemplate.update(INSERT_SQL, new BeanPropertySqlParameterSource(userHistory));
     }
 
     public void log(Connection connection, UserHistory userHistory) {
-        final var sql = "insert into user_history (user_id, account, password, email, created_at, created_by) values (?, ?, ?, ?, ?, ?)";
-        jdbcTemplate.update(connection, sql,
-                userHistory.getUserId(),
-                userHistory.getAccount(),
-                userHistory.getPassword(),
-                userHistory.getEmail(),
-                userHistory.getCreatedAt(),
-                userHistory.getCreateBy()
-        );
+        jdbcTemplate.update(connection, INSERT_SQL, new BeanPropertySqlParameterSource(userHistory));
+    }
+
+    public int logAll(Collection<UserHistory> userHistories) {
+        return bulkWriter.write(userHistories);
+    }
+
+    public int logAll(Connection connection, Collection<UserHistory> userHistories) {
+        return bulkWriter.write(connection, userHistories);
     }
 }
@@ -0,0 +1,244 @@
+package com.techcourse.dao;
+
+import com.interface21.jdbc.core.JdbcTemplate;
+import com.techcourse.domain.UserHistory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * log(UserHistory)를 큐에 넣고 바로 반환한다. 백그라운드 writer가 batchSize만큼 쌓이거나 flushInterval이 지나면
+ * 모아서 저장하므로, 이력 저장은 호출한 트랜잭션과 별개로 커밋된다.
+ * close() 시점에 큐에 남은 이력을 모두 저장한 뒤 종료한다. close()와 동시에 log()한 이력도 잃지 않는다.
+ * 일괄 저장이 실패하면 한 건씩 다시 저장하고, 그래도 실패한 이력만 실패 건수에 더한다.
+ */
+public class WriteBehindUserHistoryDao extends UserHistoryDao implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindUserHistoryDao.class);
+
+    private static final long BLOCK_BACKOFF_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    public enum OverflowPolicy {
+        BLOCK, DROP, SYNCHRONOUS
+    }
+
+    private final Queue<UserHistory> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    private final AtomicInteger producers = new AtomicInteger();
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final OverflowPolicy overflowPolicy;
+    private final Thread writer;
+    private volatile boolean running = true;
+    private volatile boolean flushRequested;
+
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder flushCount = new LongAdder();
+    private final LongAdder flushNanos = new LongAdder();
+    private final LongAccumulator maxFlushNanos = new LongAccumulator(Math::max, 0);
+
+    public WriteBehindUserHistoryDao(final JdbcTemplate jdbcTemplate, final int capacity, final int batchSize,
+                                     final Duration flushInterval, final OverflowPolicy overflowPolicy) {
+        super(jdbcTemplate);
+        if (capacity <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("capacity and batchSize must be positive");
+        }
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.overflowPolicy = overflowPolicy;
+        this.writer = Thread.ofPlatform()
+                .name("user-history-writer")
+                .daemon(true)
+                .start(this::runWriter);
+    }
+
+    @Override
+    public void log(final UserHistory userHistory) {
+        // running을 읽기 전에 producers를 올려 두므로, close()는 running을 내린 뒤 producers가 0이 될 때까지 기다리면
+        // 큐에 넣으려던 이력까지 모두 볼 수 있다.
+        producers.incrementAndGet();
+        try {
+            enqueue(userHistory);
+        } finally {
+            producers.decrementAndGet();
+        }
+    }
+
+    private void enqueue(final UserHistory userHistory) {
+        if (!running) {
+            super.log(userHistory);
+            return;
+        }
+        if (!tryReserve()) {
+            switch (overflowPolicy) {
+                case DROP -> {
+                    dropped.increment();
+                    return;
+                }
+                case SYNCHRONOUS -> {
+                    super.log(userHistory);
+                    return;
+                }
+                case BLOCK -> {
+                    if (!awaitReserve()) {
+                        super.log(userHistory);
+                        return;
+                    }
+                }
+            }
+        }
+        queue.offer(userHistory);
+        if (depth.get() >= batchSize) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private boolean tryReserve() {
+        while (true) {
+            final int current = depth.get();
+            if (current >= capacity) {
+                return false;
+            }
+            if (depth.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private boolean awaitReserve() {
+        while (running) {
+            requestFlush();
+            LockSupport.parkNanos(this, BLOCK_BACKOFF_NANOS);
+            if (tryReserve()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void runWriter() {
+        long lastFlush = System.nanoTime();
+        while (running) {
+            final long waitNanos = flushIntervalNanos - (System.nanoTime() - lastFlush);
+            if (depth.get() < batchSize && waitNanos > 0 && !flushRequested) {
+                LockSupport.parkNanos(this, waitNanos);
+                continue;
+            }
+            flushRequested = false;
+            flushAvailable();
+            lastFlush = System.nanoTime();
+        }
+        flushAvailable();
+    }
+
+    private void flushAvailable() {
+        while (!queue.isEmpty()) {
+            final List<UserHistory> batch = new ArrayList<>(Math.min(batchSize, depth.get()));
+            UserHistory next;
+            while (batch.size() < batchSize && (next = queue.poll()) != null) {
+                batch.add(next);
+            }
+            write(batch);
+            // 저장이 끝난 뒤에 줄여야 flush()가 쓰는 중인 이력까지 기다린다.
+            depth.addAndGet(-batch.size());
+        }
+    }
+
+    private void write(final List<UserHistory> batch) {
+        final long start = System.nanoTime();
+        try {
+            logAll(batch);
+        } catch (RuntimeException e) {
+            log.warn("failed to write {} user histories in batch, retrying one by one", batch.size(), e);
+            writeEach(batch);
+        } finally {
+            final long elapsed = System.nanoTime() - start;
+            flushCount.increment();
+            flushNanos.add(elapsed);
+            maxFlushNanos.accumulate(elapsed);
+        }
+    }
+
+    private void writeEach(final List<UserHistory> batch) {
+        for (final UserHistory userHistory : batch) {
+            try {
+                super.log(userHistory);
+            } catch (RuntimeException e) {
+                failed.increment();
+                log.error("failed to write user history", e);
+            }
+        }
+    }
+
+    public void flush() {
+        while (running && depth.get() > 0) {
+            requestFlush();
+            LockSupport.parkNanos(this, BLOCK_BACKOFF_NANOS);
+        }
+    }
+
+    private void requestFlush() {
+        flushRequested = true;
+        LockSupport.unpark(writer);
+    }
+
+    public void registerShutdownHook() {
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "user-history-writer-shutdown"));
+    }
+
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        while (producers.get() > 0) {
+            LockSupport.parkNanos(this, BLOCK_BACKOFF_NANOS);
+        }
+        // writer가 종료된 뒤 큐에 들어온 이력은 호출 스레드에서 저장한다.
+        flushAvailable();
+    }
+
+    public int getQueueDepth() {
+        return depth.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    public long getFlushCount() {
+        return flushCount.sum();
+    }
+
+    public Duration getAverageFlushLatency() {
+        final long count = flushCount.sum();
+        return count == 0 ? Duration.ZERO : Duration.ofNanos(flushNanos.sum() / count);
+    }
+
+    public Duration getMaxFlushLatency() {
+        return Duration.ofNanos(maxFlushNanos.get());
+    }
+}
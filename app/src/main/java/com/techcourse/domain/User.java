@@ -28,6 +28,10 @@ public class User {
         this.password = password;
     }
 
+    public void setId(Long id) {
+        this.id = id;
+    }
+
     public String getAccount() {
         return account;
     }
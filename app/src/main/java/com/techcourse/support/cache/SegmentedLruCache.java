@@ -0,0 +1,155 @@
+package com.techcourse.support.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 처음 들어온 항목은 probation 구간에 두고, 한 번 더 조회되면 protected 구간으로 승격하는 segmented LRU 캐시.
+ * 한 번만 조회되고 마는 항목들이 자주 쓰이는 항목을 밀어내지 못한다.
+ * 같은 키의 동시 miss는 하나의 loader 호출로 합친다.
+ */
+public class SegmentedLruCache<K, V> {
+
+    private static final double PROTECTED_RATIO = 0.8;
+
+    private final int maximumSize;
+    private final int protectedCapacity;
+    private final LinkedHashMap<K, V> probation = new LinkedHashMap<>();
+    private final LinkedHashMap<K, V> protectedSegment = new LinkedHashMap<>();
+    private final ConcurrentMap<K, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+    private long writeCount;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public SegmentedLruCache(final int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+        this.protectedCapacity = (int) (maximumSize * PROTECTED_RATIO);
+    }
+
+    public synchronized V getIfPresent(final K key) {
+        V value = protectedSegment.remove(key);
+        if (value != null) {
+            protectedSegment.put(key, value);
+            return value;
+        }
+        value = probation.remove(key);
+        if (value != null) {
+            promote(key, value);
+        }
+        return value;
+    }
+
+    public V get(final K key, final Function<? super K, ? extends V> loader) {
+        final long observedWrites;
+        synchronized (this) {
+            final V cached = getIfPresent(key);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+            observedWrites = writeCount;
+        }
+        misses.increment();
+
+        final CompletableFuture<V> mine = new CompletableFuture<>();
+        final CompletableFuture<V> inFlight = loading.putIfAbsent(key, mine);
+        if (inFlight != null) {
+            return await(inFlight);
+        }
+        try {
+            final V value = loader.apply(key);
+            if (value != null) {
+                putIfUnchanged(key, value, observedWrites);
+            }
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, mine);
+        }
+    }
+
+    public synchronized void put(final K key, final V value) {
+        writeCount++;
+        insert(key, value);
+    }
+
+    public synchronized void invalidate(final K key) {
+        writeCount++;
+        probation.remove(key);
+        protectedSegment.remove(key);
+    }
+
+    public synchronized int size() {
+        return probation.size() + protectedSegment.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    // loader가 조회하는 동안 put/invalidate가 있었다면 읽은 값이 이미 오래되었을 수 있으므로 버린다.
+    private synchronized void putIfUnchanged(final K key, final V value, final long observedWrites) {
+        if (writeCount == observedWrites) {
+            insert(key, value);
+        }
+    }
+
+    private void insert(final K key, final V value) {
+        if (protectedSegment.containsKey(key)) {
+            protectedSegment.put(key, value);
+            return;
+        }
+        probation.remove(key);
+        probation.put(key, value);
+        evictIfNecessary();
+    }
+
+    private void promote(final K key, final V value) {
+        protectedSegment.put(key, value);
+        if (protectedSegment.size() > protectedCapacity) {
+            final Iterator<Map.Entry<K, V>> eldest = protectedSegment.entrySet().iterator();
+            final Map.Entry<K, V> demoted = eldest.next();
+            eldest.remove();
+            probation.put(demoted.getKey(), demoted.getValue());
+        }
+        evictIfNecessary();
+    }
+
+    private void evictIfNecessary() {
+        while (size() > maximumSize) {
+            final LinkedHashMap<K, V> victims = probation.isEmpty() ? protectedSegment : probation;
+            final Iterator<K> eldest = victims.keySet().iterator();
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    private V await(final CompletableFuture<V> inFlight) {
+        try {
+            return inFlight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.techcourse.dao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.interface21.dao.DataAccessException;
+import com.interface21.jdbc.core.JdbcTemplate;
+import com.techcourse.config.DataSourceConfig;
+import com.techcourse.domain.User;
+import com.techcourse.domain.UserHistory;
+import com.techcourse.service.UserService;
+import com.techcourse.support.jdbc.init.DatabasePopulatorUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CachingUserDaoTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private CachingUserDao userDao;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        DatabasePopulatorUtils.execute(DataSourceConfig.getInstance());
+        jdbcTemplate = new JdbcTemplate(DataSourceConfig.getInstance());
+        userDao = new CachingUserDao(jdbcTemplate, 100);
+        user = new User("cached", "password", "cached@woowahan.com");
+        userDao.insert(user);
+    }
+
+    @Test
+    void findById_returnsCachedCopy() {
+        final var first = userDao.findById(user.getId());
+        first.changePassword("mutated");
+
+        final var second = userDao.findById(user.getId());
+
+        assertThat(second.getPassword()).isEqualTo("password");
+        assertThat(userDao.getHitCount()).isEqualTo(2L);
+    }
+
+    @Test
+    void changePassword_updatesCacheAfterCommit() {
+        final var userService = new UserService(userDao, new UserHistoryDao(jdbcTemplate));
+
+        userService.changePassword(user.getId(), "changed", "cached");
+
+        assertThat(userDao.findById(user.getId()).getPassword()).isEqualTo("changed");
+        assertThat(userDao.findByAccount("cached").getPassword()).isEqualTo("changed");
+    }
+
+    @Test
+    void changePassword_keepsCommittedValueOnRollback() {
+        final var userService = new UserService(userDao, new FailingUserHistoryDao(jdbcTemplate));
+
+        assertThrows(DataAccessException.class, () -> userService.changePassword(user.getId(), "changed", "cached"));
+
+        assertThat(userDao.findById(user.getId()).getPassword()).isEqualTo("password");
+    }
+
+    private static class FailingUserHistoryDao extends UserHistoryDao {
+
+        FailingUserHistoryDao(final JdbcTemplate jdbcTemplate) {
+            super(jdbcTemplate);
+        }
+
+        @Override
+        public void log(final UserHistory userHistory) {
+            throw new DataAccessException("history write failed");
+        }
+    }
+}
@@ -2,9 +2,13 @@ package com.techcourse.dao;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.interface21.jdbc.core.JdbcTemplate;
+import com.interface21.jdbc.core.QueryResultCache;
 import com.techcourse.config.DataSourceConfig;
 import com.techcourse.domain.User;
 import com.techcourse.support.jdbc.init.DatabasePopulatorUtils;
+import java.time.Duration;
+import java.util.ArrayList;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -54,6 +58,16 @@ class UserDaoTest {
         assertThat(actual.getAccount()).isEqualTo(account);
     }
 
+    @Test
+    void insertAssignsGeneratedId() {
+        final var user = new User("id-gugu", "password", "hkkang@woowahan.com");
+        userDao.insert(user);
+
+        final var actual = userDao.findById(user.getId());
+
+        assertThat(actual.getAccount()).isEqualTo("id-gugu");
+    }
+
     @Test
     void update() {
         final var newPassword = "password99";
@@ -65,4 +79,39 @@ class UserDaoTest {
 
         assertThat(actual.getPassword()).isEqualTo(newPassword);
     }
+
+    @Test
+    void cachedUserIsCopiedForEachCaller() {
+        final var jdbcTemplate = new JdbcTemplate(DataSourceConfig.getInstance());
+        final var queryResultCache = new QueryResultCache(16, Duration.ofMinutes(1));
+        jdbcTemplate.setQueryResultCache(queryResultCache);
+        final var cachingUserDao = new UserDao(jdbcTemplate);
+
+        cachingUserDao.findById(1L).changePassword("changed");
+        final var actual = cachingUserDao.findById(1L);
+
+        assertThat(actual.getPassword()).isEqualTo("password");
+        assertThat(queryResultCache.getHitCount()).isEqualTo(1L);
+    }
+
+    @Test
+    void findAllAfter() {
+        final var first = new User("page-1", "password", "hkkang@woowahan.com");
+        userDao.insert(first);
+        userDao.insert(new User("page-2", "password", "hkkang@woowahan.com"));
+        userDao.insert(new User("page-3", "password", "hkkang@woowahan.com"));
+
+        final var page = userDao.findAllAfter(first.getId(), 2);
+
+        assertThat(page).extracting(User::getAccount).containsExactly("page-2", "page-3");
+    }
+
+    @Test
+    void iterateAll() {
+        final var iterator = userDao.iterateAll(2);
+        final var ids = new ArrayList<Long>();
+        iterator.forEachRemaining(user -> ids.add(user.getId()));
+
+        assertThat(ids).hasSize(userDao.findAll().size()).isSorted();
+    }
 }
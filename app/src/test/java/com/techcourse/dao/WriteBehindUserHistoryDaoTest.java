@@ -0,0 +1,113 @@
+package com.techcourse.dao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.interface21.jdbc.core.JdbcTemplate;
+import com.techcourse.config.DataSourceConfig;
+import com.techcourse.domain.User;
+import com.techcourse.domain.UserHistory;
+import com.techcourse.support.jdbc.init.DatabasePopulatorUtils;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class WriteBehindUserHistoryDaoTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        DatabasePopulatorUtils.execute(DataSourceConfig.getInstance());
+        jdbcTemplate = new JdbcTemplate(DataSourceConfig.getInstance());
+        jdbcTemplate.update("delete from user_history");
+    }
+
+    @Test
+    void close_flushesQueuedHistories() {
+        final var user = new User(1L, "gugu", "password", "hkkang@woowahan.com");
+        final var userHistoryDao = new WriteBehindUserHistoryDao(jdbcTemplate, 100, 10, Duration.ofMinutes(1),
+                WriteBehindUserHistoryDao.OverflowPolicy.BLOCK);
+
+        for (int i = 0; i < 25; i++) {
+            userHistoryDao.log(new UserHistory(user, "gugu"));
+        }
+        userHistoryDao.close();
+
+        assertThat(userHistoryDao.getQueueDepth()).isZero();
+        assertThat(countHistories()).isEqualTo(25L);
+    }
+
+    @Test
+    void log_fallsBackToSynchronousWriteWhenQueueIsFull() {
+        final var user = new User(1L, "gugu", "password", "hkkang@woowahan.com");
+        final var userHistoryDao = new WriteBehindUserHistoryDao(jdbcTemplate, 1, 10, Duration.ofMinutes(1),
+                WriteBehindUserHistoryDao.OverflowPolicy.SYNCHRONOUS);
+
+        userHistoryDao.log(new UserHistory(user, "gugu"));
+        userHistoryDao.log(new UserHistory(user, "gugu"));
+
+        assertThat(countHistories()).isEqualTo(1L);
+        userHistoryDao.close();
+        assertThat(countHistories()).isEqualTo(2L);
+    }
+
+    @Test
+    void close_keepsHistoriesLoggedConcurrently() throws InterruptedException {
+        final var user = new User(1L, "gugu", "password", "hkkang@woowahan.com");
+        final var userHistoryDao = new WriteBehindUserHistoryDao(jdbcTemplate, 1000, 50, Duration.ofMinutes(1),
+                WriteBehindUserHistoryDao.OverflowPolicy.BLOCK);
+        final var start = new CountDownLatch(1);
+        final var producers = new ArrayList<Thread>();
+
+        for (int i = 0; i < 4; i++) {
+            producers.add(Thread.ofVirtual().start(() -> {
+                awaitQuietly(start);
+                for (int j = 0; j < 100; j++) {
+                    userHistoryDao.log(new UserHistory(user, "gugu"));
+                }
+            }));
+        }
+        start.countDown();
+        userHistoryDao.close();
+        for (final Thread producer : producers) {
+            producer.join();
+        }
+
+        assertThat(countHistories()).isEqualTo(400L);
+    }
+
+    @Test
+    void failedBatchIsWrittenOneByOne() {
+        final var user = new User(1L, "gugu", "password", "hkkang@woowahan.com");
+        final var userHistoryDao = new WriteBehindUserHistoryDao(jdbcTemplate, 100, 10, Duration.ofMinutes(1),
+                WriteBehindUserHistoryDao.OverflowPolicy.BLOCK) {
+            @Override
+            public int logAll(final Collection<UserHistory> userHistories) {
+                throw new IllegalStateException("batch insert failed");
+            }
+        };
+
+        for (int i = 0; i < 3; i++) {
+            userHistoryDao.log(new UserHistory(user, "gugu"));
+        }
+        userHistoryDao.close();
+
+        assertThat(countHistories()).isEqualTo(3L);
+        assertThat(userHistoryDao.getFailedCount()).isZero();
+    }
+
+    private void awaitQuietly(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Long countHistories() {
+        return jdbcTemplate.queryForObject("select count(*) from user_history", rs -> rs.getLong(1));
+    }
+}
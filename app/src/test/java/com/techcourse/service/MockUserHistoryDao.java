@@ -12,6 +12,11 @@ public class MockUserHistoryDao extends UserHistoryDao {
         super(jdbcTemplate);
     }
 
+    @Override
+    public void log(final UserHistory userHistory) {
+        throw new DataAccessException("Mock exception for testing rollback");
+    }
+
     @Override
     public void log(final Connection connection, final UserHistory userHistory) {
         throw new DataAccessException("Mock exception for testing rollback");
@@ -0,0 +1,122 @@
+package com.interface21.jdbc.core;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * user_history 전체를 List<HistoryRow>로 읽을 때와 ColumnarResult로 읽을 때를 비교한다.
+ * read는 조회 시간과 할당량(-prof gc의 gc.alloc.rate.norm)을, retainedHeap은 결과를 들고 있는 동안의 행당 힙 사용량을 잰다.
+ * $ ./gradlew :jdbc:jmh -Pjmh.includes=ColumnarResultBenchmark -Pjmh.profilers=gc
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ColumnarResultBenchmark {
+
+    private static final String SELECT_SQL =
+            "select id, user_id, account, password, email, created_at, created_by from user_history";
+
+    private static final RowMapper<HistoryRow> HISTORY_MAPPER = rs -> new HistoryRow(
+            rs.getLong(1), rs.getLong(2), rs.getString(3), rs.getString(4), rs.getString(5),
+            rs.getTimestamp(6).toLocalDateTime(), rs.getString(7));
+
+    @Param({"100000"})
+    public int rows;
+
+    @Param({"objects", "columnar"})
+    public String representation;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup
+    public void setUp() throws SQLException {
+        final var dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:columnar;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        try (Connection connection = dataSource.getConnection();
+             Statement stmt = connection.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS user_history");
+            stmt.execute("CREATE TABLE user_history (id BIGINT AUTO_INCREMENT PRIMARY KEY, user_id BIGINT NOT NULL, "
+                    + "account VARCHAR(100) NOT NULL, password VARCHAR(100) NOT NULL, email VARCHAR(100) NOT NULL, "
+                    + "created_at DATETIME NOT NULL, created_by VARCHAR(100) NOT NULL)");
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO user_history "
+                    + "(user_id, account, password, email, created_at, created_by) VALUES (?, ?, ?, ?, ?, ?)")) {
+                final var now = LocalDateTime.now();
+                for (int i = 0; i < rows; i++) {
+                    final int user = i % 1000;
+                    insert.setLong(1, user);
+                    insert.setString(2, "user" + user);
+                    insert.setString(3, "password" + (i % 10));
+                    insert.setString(4, "user" + user + "@woowahan.com");
+                    insert.setTimestamp(5, Timestamp.valueOf(now.plusSeconds(i)));
+                    insert.setString(6, "user" + user);
+                    insert.addBatch();
+                    if (i % 1000 == 999) {
+                        insert.executeBatch();
+                    }
+                }
+                insert.executeBatch();
+            }
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+
+        public long bytesPerRow;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytesPerRow = 0;
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public Object read() {
+        return load();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    public Object retainedHeap(Footprint footprint) {
+        long before = usedHeap();
+        Object result = load();
+        footprint.bytesPerRow = (usedHeap() - before) / rows;
+        return result;
+    }
+
+    private Object load() {
+        if (representation.equals("columnar")) {
+            return jdbcTemplate.queryForColumns(SELECT_SQL);
+        }
+        return jdbcTemplate.query(SELECT_SQL, HISTORY_MAPPER);
+    }
+
+    private static long usedHeap() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private record HistoryRow(long id, long userId, String account, String password, String email,
+                              LocalDateTime createdAt, String createdBy) {
+    }
+}
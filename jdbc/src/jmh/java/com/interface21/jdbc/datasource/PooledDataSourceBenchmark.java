@@ -0,0 +1,70 @@
+package com.interface21.jdbc.datasource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * PoolingVsNoPoolingTest와 같은 시나리오를 H2로 측정한다.
+ * $ ./gradlew :jdbc:jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class PooledDataSourceBenchmark {
+
+    private JdbcDataSource noPooling;
+    private PooledDataSource pooling;
+
+    @Setup
+    public void setUp() throws SQLException {
+        noPooling = new JdbcDataSource();
+        noPooling.setURL("jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1");
+        noPooling.setUser("");
+        noPooling.setPassword("");
+        pooling = new PooledDataSource(noPooling, 4);
+
+        try (Connection connection = noPooling.getConnection();
+             Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS users (id INT AUTO_INCREMENT PRIMARY KEY, email VARCHAR(100) NOT NULL)");
+            stmt.executeUpdate("INSERT INTO users (email) VALUES ('hkkang@woowahan.com')");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        pooling.close();
+    }
+
+    @Benchmark
+    public int noPooling() throws SQLException {
+        return connect(noPooling);
+    }
+
+    @Benchmark
+    public int pooling() throws SQLException {
+        return connect(pooling);
+    }
+
+    private static int connect(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT * FROM users")) {
+            return rs.next() ? rs.getString(2).hashCode() : 0;
+        }
+    }
+}
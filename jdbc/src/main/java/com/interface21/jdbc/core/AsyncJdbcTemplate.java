@@ -0,0 +1,138 @@
+package com.interface21.jdbc.core;
+
+import com.interface21.jdbc.datasource.PooledDataSource;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class AsyncJdbcTemplate implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncJdbcTemplate.class);
+
+    private static final int DEFAULT_MAX_CONCURRENCY = 10;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+
+    public AsyncJdbcTemplate(final JdbcTemplate jdbcTemplate) {
+        this(jdbcTemplate, resolveMaxConcurrency(jdbcTemplate));
+    }
+
+    public AsyncJdbcTemplate(final JdbcTemplate jdbcTemplate, final int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive: " + maxConcurrency);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    private static int resolveMaxConcurrency(JdbcTemplate jdbcTemplate) {
+        try {
+            final var dataSource = jdbcTemplate.getDataSource();
+            if (dataSource.isWrapperFor(PooledDataSource.class)) {
+                return dataSource.unwrap(PooledDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            log.debug("Could not inspect DataSource for pool size", e);
+        }
+        return DEFAULT_MAX_CONCURRENCY;
+    }
+
+    public <T> CompletableFuture<T> execute(ConnectionCallback<T> action) {
+        final var future = new StatementCancellingFuture<T>();
+        try {
+            executor.execute(() -> future.run(action));
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    public <T> CompletableFuture<List<T>> query(String sql, RowMapper<T> mapper, Object... parameters) {
+        return execute(con -> jdbcTemplate.query(con, sql, mapper, parameters));
+    }
+
+    public <T> CompletableFuture<T> queryForObject(String sql, RowMapper<T> mapper, Object... parameters) {
+        return execute(con -> jdbcTemplate.queryForObject(con, sql, mapper, parameters));
+    }
+
+    public CompletableFuture<Void> update(String sql, Object... parameters) {
+        return execute(con -> {
+            jdbcTemplate.update(con, sql, parameters);
+            return null;
+        });
+    }
+
+    public CompletableFuture<int[]> batchUpdate(String sql, List<Object[]> batchArgs) {
+        return execute(con -> jdbcTemplate.batchUpdate(con, sql, batchArgs));
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private class StatementCancellingFuture<T> extends CompletableFuture<T> {
+
+        private final StatementTracker statements = new StatementTracker();
+        private volatile Thread waitingThread;
+
+        private void run(ConnectionCallback<T> action) {
+            if (isDone()) {
+                return;
+            }
+            try {
+                waitingThread = Thread.currentThread();
+                permits.acquire();
+            } catch (InterruptedException e) {
+                completeExceptionally(new CancellationException("Cancelled while waiting for a connection permit"));
+                return;
+            } finally {
+                waitingThread = null;
+            }
+            try {
+                if (!isDone()) {
+                    complete(jdbcTemplate.execute(con -> action.doInConnection(statements.track(con))));
+                }
+            } catch (Throwable e) {
+                completeExceptionally(e);
+            } finally {
+                permits.release();
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (!cancelled) {
+                return false;
+            }
+            statements.cancel();
+            // 허가를 기다리는 중이면 아직 커넥션을 잡지 않았으므로 인터럽트해도 안전하다.
+            Thread waiting = waitingThread;
+            if (waiting != null) {
+                waiting.interrupt();
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.interface21.jdbc.core;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+public interface BatchPreparedStatementSetter {
+
+    void setValues(PreparedStatement ps, int i) throws SQLException;
+
+    int getBatchSize();
+}
@@ -0,0 +1,109 @@
+package com.interface21.jdbc.core;
+
+import com.interface21.dao.DataAccessException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Parameter;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+class BeanMappingPlan {
+
+    private final MethodHandle rowConstructor;
+
+    private BeanMappingPlan(MethodHandle rowConstructor) {
+        this.rowConstructor = rowConstructor;
+    }
+
+    static BeanMappingPlan create(Class<?> type, List<String> columnLabels) {
+        Constructor<?> target = findAllArgumentConstructor(type);
+        Parameter[] parameters = target.getParameters();
+        int[] columnIndexes = resolveColumnIndexes(type, parameters, columnLabels);
+
+        MethodHandle[] getters = new MethodHandle[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            getters[i] = ColumnGetters.forType(parameters[i].getType(), columnIndexes[i]);
+        }
+
+        // (P1, ..., Pn) -> T 생성자를 (ResultSet) -> T 로 합성해 행마다 getter 호출 + 생성자 호출만 남긴다.
+        MethodHandle constructor = MethodHandles.filterArguments(toMethodHandle(target), 0, getters);
+        MethodHandle rowConstructor = MethodHandles.permuteArguments(constructor,
+                MethodType.methodType(type, ResultSet.class), new int[parameters.length]);
+        return new BeanMappingPlan(rowConstructor.asType(MethodType.methodType(Object.class, ResultSet.class)));
+    }
+
+    private static int[] resolveColumnIndexes(Class<?> type, Parameter[] parameters, List<String> columnLabels) {
+        int[] columnIndexes = new int[parameters.length];
+        if (parameters.length > 0 && !parameters[0].isNamePresent()) {
+            if (columnLabels.size() < parameters.length) {
+                throw new DataAccessException("Expected at least " + parameters.length + " columns to map "
+                        + type.getSimpleName() + " but got " + columnLabels);
+            }
+            for (int i = 0; i < parameters.length; i++) {
+                columnIndexes[i] = i + 1;
+            }
+            return columnIndexes;
+        }
+
+        Map<String, Integer> indexByName = new HashMap<>();
+        for (int i = 0; i < columnLabels.size(); i++) {
+            indexByName.putIfAbsent(normalize(columnLabels.get(i)), i + 1);
+        }
+        for (int i = 0; i < parameters.length; i++) {
+            Integer columnIndex = indexByName.get(normalize(parameters[i].getName()));
+            if (columnIndex == null) {
+                throw new DataAccessException("No column found for constructor parameter '" + parameters[i].getName()
+                        + "' of " + type.getSimpleName() + " in " + columnLabels);
+            }
+            columnIndexes[i] = columnIndex;
+        }
+        return columnIndexes;
+    }
+
+    private static String normalize(String name) {
+        return name.replace("_", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static Constructor<?> findAllArgumentConstructor(Class<?> type) {
+        Constructor<?> target = null;
+        int maxParams = -1;
+        for (Constructor<?> c : type.getDeclaredConstructors()) {
+            if (c.getParameterCount() > maxParams) {
+                target = c;
+                maxParams = c.getParameterCount();
+            }
+        }
+        if (target == null) {
+            throw new DataAccessException("No constructor found for " + type.getSimpleName());
+        }
+        return target;
+    }
+
+    private static MethodHandle toMethodHandle(Constructor<?> constructor) {
+        try {
+            constructor.setAccessible(true);
+            return MethodHandles.lookup().unreflectConstructor(constructor);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new DataAccessException("Failed to access constructor of " + constructor.getDeclaringClass().getSimpleName(), e);
+        }
+    }
+
+    Object instantiate(ResultSet rs) throws Throwable {
+        return (Object) rowConstructor.invokeExact(rs);
+    }
+
+    static List<String> columnLabels(ResultSet rs) throws SQLException {
+        var meta = rs.getMetaData();
+        String[] labels = new String[meta.getColumnCount()];
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = meta.getColumnLabel(i + 1);
+        }
+        return List.of(labels);
+    }
+}
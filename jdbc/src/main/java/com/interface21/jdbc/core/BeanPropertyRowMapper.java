@@ -1,14 +1,34 @@
 package com.interface21.jdbc.core;
 
 import com.interface21.dao.DataAccessException;
-import java.lang.reflect.Constructor;
+import java.lang.ref.WeakReference;
 import java.sql.ResultSet;
-import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 
+    private static final int MAX_PLANS_PER_TYPE = 32;
+
+    // 타입별 조회를 잠금 없이 하려고 ClassValue에 둔다. plan은 대상 클래스의 MethodHandle을 쥐고 있어 클래스 언로드를 막으므로,
+    // 쌓이는 양의 한도는 타입마다 컬럼 조합 MAX_PLANS_PER_TYPE개로 자르는 LRU뿐이다.
+    private static final ClassValue<Map<List<String>, BeanMappingPlan>> PLANS = new ClassValue<>() {
+        @Override
+        protected Map<List<String>, BeanMappingPlan> computeValue(Class<?> type) {
+            return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<List<String>, BeanMappingPlan> eldest) {
+                    return size() > MAX_PLANS_PER_TYPE;
+                }
+            });
+        }
+    };
+
     private final Class<T> type;
+    private volatile BoundPlan boundPlan;
 
     public BeanPropertyRowMapper(Class<T> type) {
         this.type = type;
@@ -17,40 +37,29 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
     @Override
     public T mapRow(ResultSet rs) throws SQLException {
         try {
-            Constructor<?> constructor = findAllArgumentConstructor();
-            Object[] args = extractConstructorArgs(rs, constructor);
-            return instantiate(constructor, args);
-        } catch (Exception e) {
+            return type.cast(planFor(rs).instantiate(rs));
+        } catch (Error | DataAccessException e) {
+            throw e;
+        } catch (Throwable e) {
             throw new DataAccessException("Failed to map row to " + type.getSimpleName(), e);
         }
     }
 
-    private Constructor<?> findAllArgumentConstructor() {
-        Constructor<?> target = null;
-        int maxParams = -1;
-        for (Constructor<?> c : type.getDeclaredConstructors()) {
-            if (c.getParameterCount() > maxParams) {
-                target = c;
-                maxParams = c.getParameterCount();
-            }
+    private BeanMappingPlan planFor(ResultSet rs) throws SQLException {
+        BoundPlan current = boundPlan;
+        if (current != null && current.resultSet.get() == rs) {
+            return current.plan;
         }
-        return target;
+        BeanMappingPlan plan = PLANS.get(type)
+                .computeIfAbsent(BeanMappingPlan.columnLabels(rs), labels -> BeanMappingPlan.create(type, labels));
+        boundPlan = new BoundPlan(new WeakReference<>(rs), plan);
+        return plan;
     }
 
-    private Object[] extractConstructorArgs(ResultSet rs, Constructor<?> constructor) throws SQLException {
-        ResultSetMetaData meta = rs.getMetaData();
-        int columnCount = meta.getColumnCount();
-        int paramCount = constructor.getParameterCount();
-        Object[] args = new Object[Math.min(columnCount, paramCount)];
-        for (int i = 0; i < args.length; i++) {
-            args[i] = rs.getObject(i + 1);
-        }
-        return args;
+    static int cachedPlanCount(Class<?> type) {
+        return PLANS.get(type).size();
     }
 
-    @SuppressWarnings("unchecked")
-    private T instantiate(Constructor<?> constructor, Object[] args) throws Exception {
-        constructor.setAccessible(true);
-        return (T) constructor.newInstance(args);
+    private record BoundPlan(WeakReference<ResultSet> resultSet, BeanMappingPlan plan) {
     }
 }
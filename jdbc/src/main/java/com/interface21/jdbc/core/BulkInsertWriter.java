@@ -0,0 +1,137 @@
+package com.interface21.jdbc.core;
+
+import com.interface21.dao.DataAccessException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 여러 행을 {@code insert into t (a, b) values (?, ?), (?, ?), ...} 한 문장으로 묶어 저장한다.
+ * 한 문장의 파라미터 수가 {@code maxParameters}를 넘지 않도록 행을 나누고, 행 수별 SQL은 캐시해 재사용한다.
+ */
+public class BulkInsertWriter<T> {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkInsertWriter.class);
+
+    private static final int DEFAULT_MAX_PARAMETERS = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String insertPrefix;
+    private final String rowPlaceholders;
+    private final int columnCount;
+    private final Function<? super T, Object[]> rowValues;
+    private final ConcurrentMap<Integer, String> sqlCache = new ConcurrentHashMap<>();
+    private volatile int maxParameters = DEFAULT_MAX_PARAMETERS;
+
+    public BulkInsertWriter(JdbcTemplate jdbcTemplate, String table, List<String> columns,
+                            Function<? super T, Object[]> rowValues) {
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("columns must not be empty");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.insertPrefix = "insert into " + table + " (" + String.join(", ", columns) + ") values ";
+        this.rowPlaceholders = "(" + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+        this.columnCount = columns.size();
+        this.rowValues = rowValues;
+    }
+
+    public void setMaxParameters(int maxParameters) {
+        if (maxParameters < columnCount) {
+            throw new IllegalArgumentException("maxParameters must hold at least one row: " + maxParameters);
+        }
+        this.maxParameters = maxParameters;
+    }
+
+    public int getRowsPerStatement() {
+        return maxParameters / columnCount;
+    }
+
+    public int write(Collection<? extends T> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.execute(con -> write(con, rows));
+    }
+
+    public int write(Connection connection, Iterable<? extends T> rows) {
+        int rowsPerStatement = getRowsPerStatement();
+        Object[] values = new Object[rowsPerStatement * columnCount];
+        int buffered = 0;
+        int affected = 0;
+        PreparedStatement fullChunk = null;
+        try {
+            for (T row : rows) {
+                Object[] rowArgs = rowValues.apply(row);
+                if (rowArgs.length != columnCount) {
+                    throw new IllegalArgumentException(
+                            "expected " + columnCount + " values per row but got " + rowArgs.length);
+                }
+                System.arraycopy(rowArgs, 0, values, buffered * columnCount, columnCount);
+                buffered++;
+                if (buffered == rowsPerStatement) {
+                    if (fullChunk == null) {
+                        fullChunk = connection.prepareStatement(sqlFor(rowsPerStatement));
+                    }
+                    affected += executeChunk(fullChunk, values, buffered);
+                    buffered = 0;
+                }
+            }
+            if (buffered > 0) {
+                try (PreparedStatement remainder = connection.prepareStatement(sqlFor(buffered))) {
+                    affected += executeChunk(remainder, values, buffered);
+                }
+            }
+            jdbcTemplate.afterUpdate(connection, insertPrefix);
+            return affected;
+        } catch (SQLException e) {
+            log.error(e.getMessage(), e);
+            throw new DataAccessException(e);
+        } finally {
+            closeQuietly(fullChunk);
+        }
+    }
+
+    private int executeChunk(PreparedStatement pstmt, Object[] values, int rowCount) throws SQLException {
+        int parameterCount = rowCount * columnCount;
+        for (int i = 0; i < parameterCount; i++) {
+            StatementCreatorUtils.setParameterValue(pstmt, i + 1, values[i]);
+        }
+        return pstmt.executeUpdate();
+    }
+
+    String sqlFor(int rowCount) {
+        return sqlCache.computeIfAbsent(rowCount, this::buildSql);
+    }
+
+    private String buildSql(int rowCount) {
+        StringBuilder sql = new StringBuilder(insertPrefix.length() + rowCount * (rowPlaceholders.length() + 2));
+        sql.append(insertPrefix);
+        for (int i = 0; i < rowCount; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(rowPlaceholders);
+        }
+        log.debug("bulk insert : {} rows", rowCount);
+        return sql.toString();
+    }
+
+    private void closeQuietly(PreparedStatement pstmt) {
+        if (pstmt == null) {
+            return;
+        }
+        try {
+            pstmt.close();
+        } catch (SQLException e) {
+            log.warn("failed to close statement", e);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.interface21.jdbc.core;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+final class ColumnGetters {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final Map<Class<?>, MethodHandle> GETTERS = Map.ofEntries(
+            Map.entry(long.class, resultSetGetter("getLong", long.class)),
+            Map.entry(int.class, resultSetGetter("getInt", int.class)),
+            Map.entry(short.class, resultSetGetter("getShort", short.class)),
+            Map.entry(byte.class, resultSetGetter("getByte", byte.class)),
+            Map.entry(boolean.class, resultSetGetter("getBoolean", boolean.class)),
+            Map.entry(double.class, resultSetGetter("getDouble", double.class)),
+            Map.entry(float.class, resultSetGetter("getFloat", float.class)),
+            Map.entry(String.class, resultSetGetter("getString", String.class)),
+            Map.entry(BigDecimal.class, resultSetGetter("getBigDecimal", BigDecimal.class)),
+            Map.entry(Timestamp.class, resultSetGetter("getTimestamp", Timestamp.class)),
+            Map.entry(Date.class, resultSetGetter("getDate", Date.class)),
+            Map.entry(byte[].class, resultSetGetter("getBytes", byte[].class)),
+            Map.entry(Long.class, helper("getNullableLong", Long.class)),
+            Map.entry(Integer.class, helper("getNullableInt", Integer.class)),
+            Map.entry(Boolean.class, helper("getNullableBoolean", Boolean.class)),
+            Map.entry(Double.class, helper("getNullableDouble", Double.class)),
+            Map.entry(LocalDateTime.class, helper("getLocalDateTime", LocalDateTime.class)),
+            Map.entry(LocalDate.class, helper("getLocalDate", LocalDate.class))
+    );
+
+    private static final MethodHandle GET_OBJECT = lookupVirtual("getObject",
+            MethodType.methodType(Object.class, int.class, Class.class));
+
+    private ColumnGetters() {}
+
+    static MethodHandle forType(Class<?> type, int columnIndex) {
+        MethodHandle getter = GETTERS.get(type);
+        if (getter == null) {
+            getter = MethodHandles.insertArguments(GET_OBJECT, 1, type)
+                    .asType(MethodType.methodType(type, ResultSet.class, int.class));
+        }
+        return MethodHandles.insertArguments(getter, 1, columnIndex);
+    }
+
+    private static MethodHandle resultSetGetter(String name, Class<?> returnType) {
+        return lookupVirtual(name, MethodType.methodType(returnType, int.class));
+    }
+
+    private static MethodHandle lookupVirtual(String name, MethodType type) {
+        try {
+            return LOOKUP.findVirtual(ResultSet.class, name, type);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static MethodHandle helper(String name, Class<?> returnType) {
+        try {
+            return LOOKUP.findStatic(ColumnGetters.class, name,
+                    MethodType.methodType(returnType, ResultSet.class, int.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static Long getNullableLong(ResultSet rs, int i) throws SQLException {
+        long value = rs.getLong(i);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static Integer getNullableInt(ResultSet rs, int i) throws SQLException {
+        int value = rs.getInt(i);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static Boolean getNullableBoolean(ResultSet rs, int i) throws SQLException {
+        boolean value = rs.getBoolean(i);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static Double getNullableDouble(ResultSet rs, int i) throws SQLException {
+        double value = rs.getDouble(i);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static LocalDateTime getLocalDateTime(ResultSet rs, int i) throws SQLException {
+        Timestamp value = rs.getTimestamp(i);
+        return value == null ? null : value.toLocalDateTime();
+    }
+
+    private static LocalDate getLocalDate(ResultSet rs, int i) throws SQLException {
+        Date value = rs.getDate(i);
+        return value == null ? null : value.toLocalDate();
+    }
+}
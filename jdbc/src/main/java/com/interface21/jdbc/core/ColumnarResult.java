@@ -0,0 +1,361 @@
+package com.interface21.jdbc.core;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 조회 결과를 행 객체 대신 컬럼별 배열로 보관한다.
+ * 정수 컬럼은 long[], 문자열 컬럼은 사전 인코딩(int[] 코드 + 중복 없는 문자열 배열), 시각 컬럼은 epoch 마이크로초 long[]에 담는다.
+ * 배열은 두 배씩 늘어나므로 행마다 할당하는 객체가 없고, 같은 문자열 값은 한 번만 보관된다.
+ * 컬럼 인덱스는 0부터 시작한다.
+ */
+public class ColumnarResult {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final String[] labels;
+    private final Column[] columns;
+    private int rowCount;
+
+    private ColumnarResult(String[] labels, Column[] columns) {
+        this.labels = labels;
+        this.columns = columns;
+    }
+
+    static ColumnarResult from(ResultSet rs) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        String[] labels = new String[columnCount];
+        Column[] columns = new Column[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            labels[i] = metaData.getColumnLabel(i + 1).toLowerCase(Locale.ROOT);
+            columns[i] = columnFor(metaData.getColumnType(i + 1));
+        }
+        ColumnarResult result = new ColumnarResult(labels, columns);
+        while (rs.next()) {
+            int row = result.rowCount;
+            for (int i = 0; i < columnCount; i++) {
+                columns[i].read(rs, i + 1, row);
+            }
+            result.rowCount++;
+        }
+        return result;
+    }
+
+    private static Column columnFor(int sqlType) {
+        return switch (sqlType) {
+            case Types.BIGINT, Types.INTEGER, Types.SMALLINT, Types.TINYINT, Types.BOOLEAN, Types.BIT -> new LongColumn();
+            case Types.DOUBLE, Types.FLOAT, Types.REAL -> new DoubleColumn();
+            case Types.VARCHAR, Types.CHAR, Types.LONGVARCHAR, Types.NVARCHAR, Types.NCHAR -> new DictionaryColumn();
+            case Types.TIMESTAMP, Types.DATE -> new TimestampColumn();
+            default -> new ObjectColumn();
+        };
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    public String getColumnLabel(int column) {
+        return labels[column];
+    }
+
+    public int findColumn(String label) {
+        String normalized = label.toLowerCase(Locale.ROOT);
+        for (int i = 0; i < labels.length; i++) {
+            if (labels[i].equals(normalized)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("No column labelled [" + label + "]");
+    }
+
+    public boolean isNull(int column, int row) {
+        checkRow(row);
+        return columns[column].isNull(row);
+    }
+
+    public long getLong(int column, int row) {
+        checkRow(row);
+        return column(column, LongColumn.class).values[row];
+    }
+
+    public double getDouble(int column, int row) {
+        checkRow(row);
+        return column(column, DoubleColumn.class).values[row];
+    }
+
+    public String getString(int column, int row) {
+        checkRow(row);
+        Column target = columns[column];
+        if (target instanceof DictionaryColumn dictionary) {
+            return dictionary.get(row);
+        }
+        Object value = target.getObject(row);
+        return value == null ? null : value.toString();
+    }
+
+    public LocalDateTime getLocalDateTime(int column, int row) {
+        checkRow(row);
+        TimestampColumn timestamps = column(column, TimestampColumn.class);
+        return timestamps.isNull(row) ? null : timestamps.get(row);
+    }
+
+    public Object getObject(int column, int row) {
+        checkRow(row);
+        return columns[column].getObject(row);
+    }
+
+    /**
+     * BIGINT 컬럼의 값을 행 수에 맞춘 배열로 복사한다. NULL은 0이다.
+     */
+    public long[] toLongArray(int column) {
+        return Arrays.copyOf(column(column, LongColumn.class).values, rowCount);
+    }
+
+    /**
+     * 문자열 컬럼의 서로 다른 값의 수. 사전 인코딩이 얼마나 효과적인지 보여 준다.
+     */
+    public int getDistinctCount(int column) {
+        return column(column, DictionaryColumn.class).dictionarySize;
+    }
+
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= rowCount) {
+            throw new IndexOutOfBoundsException("row " + row + " out of " + rowCount);
+        }
+    }
+
+    private <C extends Column> C column(int column, Class<C> type) {
+        Column target = columns[column];
+        if (!type.isInstance(target)) {
+            throw new IllegalArgumentException("Column [" + labels[column] + "] is not stored as "
+                    + type.getSimpleName() + " but " + target.getClass().getSimpleName());
+        }
+        return type.cast(target);
+    }
+
+    /**
+     * 행 단위로 순회하는 커서. 하나의 커서 객체가 위치만 옮기므로 행마다 객체를 만들지 않는다.
+     */
+    public final class Cursor {
+
+        private int row = -1;
+
+        private Cursor() {
+        }
+
+        public boolean next() {
+            if (row + 1 >= rowCount) {
+                return false;
+            }
+            row++;
+            return true;
+        }
+
+        public int getRow() {
+            return row;
+        }
+
+        public boolean isNull(int column) {
+            return ColumnarResult.this.isNull(column, row);
+        }
+
+        public long getLong(int column) {
+            return ColumnarResult.this.getLong(column, row);
+        }
+
+        public double getDouble(int column) {
+            return ColumnarResult.this.getDouble(column, row);
+        }
+
+        public String getString(int column) {
+            return ColumnarResult.this.getString(column, row);
+        }
+
+        public LocalDateTime getLocalDateTime(int column) {
+            return ColumnarResult.this.getLocalDateTime(column, row);
+        }
+
+        public Object getObject(int column) {
+            return ColumnarResult.this.getObject(column, row);
+        }
+    }
+
+    private abstract static sealed class Column permits LongColumn, DoubleColumn, DictionaryColumn, TimestampColumn, ObjectColumn {
+
+        private long[] nulls = new long[1];
+
+        abstract void read(ResultSet rs, int index, int row) throws SQLException;
+
+        abstract Object getObject(int row);
+
+        final boolean isNull(int row) {
+            int word = row >>> 6;
+            return word < nulls.length && (nulls[word] & (1L << row)) != 0;
+        }
+
+        final void markNull(int row) {
+            int word = row >>> 6;
+            if (word >= nulls.length) {
+                nulls = Arrays.copyOf(nulls, Math.max(nulls.length * 2, word + 1));
+            }
+            nulls[word] |= 1L << row;
+        }
+
+        static int grow(int capacity, int row) {
+            return Math.max(capacity * 2, Math.max(row + 1, INITIAL_CAPACITY));
+        }
+    }
+
+    private static final class LongColumn extends Column {
+
+        private long[] values = new long[0];
+
+        @Override
+        void read(ResultSet rs, int index, int row) throws SQLException {
+            if (row == values.length) {
+                values = Arrays.copyOf(values, grow(values.length, row));
+            }
+            values[row] = rs.getLong(index);
+            if (values[row] == 0 && rs.wasNull()) {
+                markNull(row);
+            }
+        }
+
+        @Override
+        Object getObject(int row) {
+            return isNull(row) ? null : values[row];
+        }
+    }
+
+    private static final class DoubleColumn extends Column {
+
+        private double[] values = new double[0];
+
+        @Override
+        void read(ResultSet rs, int index, int row) throws SQLException {
+            if (row == values.length) {
+                values = Arrays.copyOf(values, grow(values.length, row));
+            }
+            values[row] = rs.getDouble(index);
+            if (values[row] == 0 && rs.wasNull()) {
+                markNull(row);
+            }
+        }
+
+        @Override
+        Object getObject(int row) {
+            return isNull(row) ? null : values[row];
+        }
+    }
+
+    private static final class DictionaryColumn extends Column {
+
+        private int[] codes = new int[0];
+        private String[] dictionary = new String[16];
+        private int dictionarySize;
+        private final Map<String, Integer> codeByValue = new HashMap<>();
+
+        @Override
+        void read(ResultSet rs, int index, int row) throws SQLException {
+            if (row == codes.length) {
+                codes = Arrays.copyOf(codes, grow(codes.length, row));
+            }
+            String value = rs.getString(index);
+            if (value == null) {
+                codes[row] = -1;
+                markNull(row);
+                return;
+            }
+            Integer code = codeByValue.get(value);
+            if (code == null) {
+                code = dictionarySize;
+                if (dictionarySize == dictionary.length) {
+                    dictionary = Arrays.copyOf(dictionary, dictionary.length * 2);
+                }
+                dictionary[dictionarySize++] = value;
+                codeByValue.put(value, code);
+            }
+            codes[row] = code;
+        }
+
+        String get(int row) {
+            int code = codes[row];
+            return code < 0 ? null : dictionary[code];
+        }
+
+        @Override
+        Object getObject(int row) {
+            return get(row);
+        }
+    }
+
+    private static final class TimestampColumn extends Column {
+
+        private long[] epochMicros = new long[0];
+
+        @Override
+        void read(ResultSet rs, int index, int row) throws SQLException {
+            if (row == epochMicros.length) {
+                epochMicros = Arrays.copyOf(epochMicros, grow(epochMicros.length, row));
+            }
+            Timestamp timestamp = rs.getTimestamp(index);
+            if (timestamp == null) {
+                markNull(row);
+                return;
+            }
+            LocalDateTime value = timestamp.toLocalDateTime();
+            epochMicros[row] = value.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + value.getNano() / 1_000;
+        }
+
+        LocalDateTime get(int row) {
+            long micros = epochMicros[row];
+            return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                    (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+        }
+
+        @Override
+        Object getObject(int row) {
+            return isNull(row) ? null : get(row);
+        }
+    }
+
+    private static final class ObjectColumn extends Column {
+
+        private Object[] values = new Object[0];
+
+        @Override
+        void read(ResultSet rs, int index, int row) throws SQLException {
+            if (row == values.length) {
+                values = Arrays.copyOf(values, grow(values.length, row));
+            }
+            values[row] = rs.getObject(index);
+            if (values[row] == null) {
+                markNull(row);
+            }
+        }
+
+        @Override
+        Object getObject(int row) {
+            return values[row];
+        }
+    }
+}
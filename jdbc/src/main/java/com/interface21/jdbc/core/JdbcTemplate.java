@@ -1,12 +1,27 @@
 package com.interface21.jdbc.core;
 
 import com.interface21.dao.DataAccessException;
+import com.interface21.jdbc.datasource.DataSourceUtils;
+import com.interface21.transaction.support.TransactionResourceContext;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.BaseStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import javax.sql.DataSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,12 +30,88 @@ public class JdbcTemplate {
 
     private static final Logger log = LoggerFactory.getLogger(JdbcTemplate.class);
 
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+
     private final DataSource dataSource;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private int fetchSize = -1;
+    private TransactionResourceContext resourceContext = TransactionResourceContext.THREAD_LOCAL;
+    private QueryResultCache queryResultCache;
+    private boolean readOnly;
 
     public JdbcTemplate(final DataSource dataSource) {
         this.dataSource = dataSource;
     }
 
+    /**
+     * 같은 설정으로 커넥션을 읽기 전용 경로(replica)에서 얻는 JdbcTemplate을 만든다.
+     * 이미 트랜잭션에 묶인 커넥션이 있으면 그 커넥션을 그대로 사용한다.
+     */
+    public JdbcTemplate readOnly() {
+        JdbcTemplate readOnlyTemplate = new JdbcTemplate(dataSource);
+        readOnlyTemplate.batchSize = batchSize;
+        readOnlyTemplate.fetchSize = fetchSize;
+        readOnlyTemplate.resourceContext = resourceContext;
+        readOnlyTemplate.queryResultCache = queryResultCache;
+        readOnlyTemplate.readOnly = true;
+        return readOnlyTemplate;
+    }
+
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    public void setBatchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+        this.batchSize = batchSize;
+    }
+
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public void setResourceContext(TransactionResourceContext resourceContext) {
+        this.resourceContext = resourceContext;
+    }
+
+    public TransactionResourceContext getResourceContext() {
+        return resourceContext;
+    }
+
+    public void setQueryResultCache(QueryResultCache queryResultCache) {
+        this.queryResultCache = queryResultCache;
+    }
+
+    public QueryResultCache getQueryResultCache() {
+        return queryResultCache;
+    }
+
+    public ParallelQueryScope fanOut(Duration deadline) {
+        return new ParallelQueryScope(this, deadline);
+    }
+
+    public <T> T execute(ConnectionCallback<T> action) {
+        Connection con = DataSourceUtils.getConnection(dataSource, resourceContext, readOnly);
+        try {
+            return action.doInConnection(con);
+        } catch (SQLException e) {
+            log.error(e.getMessage(), e);
+            throw new DataAccessException(e);
+        } finally {
+            DataSourceUtils.releaseConnection(con, dataSource, resourceContext);
+        }
+    }
+
+    public void update(Connection connection, String sql, Object[] parameters, int[] sqlTypes) {
+        update(connection, sql, bindParameters(parameters, sqlTypes));
+    }
+
     public void update(Connection connection, String sql, Object... parameters) {
         update(connection, sql, bindParameters(parameters));
     }
@@ -30,42 +121,163 @@ public class JdbcTemplate {
             log.debug("query : {}", sql);
             setter.setValues(pstmt);
             pstmt.executeUpdate();
+            afterUpdate(connection, sql);
         } catch (SQLException e) {
             log.error(e.getMessage(), e);
             throw new DataAccessException(e);
         }
     }
 
+    public void update(String sql, Object[] parameters, int[] sqlTypes) {
+        update(sql, bindParameters(parameters, sqlTypes));
+    }
+
     public void update(String sql, Object... parameters) {
         update(sql, bindParameters(parameters));
     }
 
     public void update(String sql, PreparedStatementSetter setter) {
-        try (Connection con = dataSource.getConnection()) {
-            con.setAutoCommit(true);
+        execute(con -> {
             update(con, sql, setter);
+            return null;
+        });
+    }
+
+    public void update(Connection connection, String sql, KeyHolder keyHolder, Object... parameters) {
+        update(connection, sql, bindParameters(parameters), keyHolder);
+    }
+
+    public void update(Connection connection, String sql, PreparedStatementSetter setter, KeyHolder keyHolder) {
+        try (PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            log.debug("query : {}", sql);
+            setter.setValues(pstmt);
+            pstmt.executeUpdate();
+            extractGeneratedKeys(pstmt, keyHolder);
+            afterUpdate(connection, sql);
         } catch (SQLException e) {
             log.error(e.getMessage(), e);
             throw new DataAccessException(e);
         }
     }
 
+    public void update(String sql, KeyHolder keyHolder, Object... parameters) {
+        update(sql, bindParameters(parameters), keyHolder);
+    }
+
+    public void update(String sql, PreparedStatementSetter setter, KeyHolder keyHolder) {
+        execute(con -> {
+            update(con, sql, setter, keyHolder);
+            return null;
+        });
+    }
+
+    public int[] batchUpdate(Connection connection, String sql, List<Object[]> batchArgs) {
+        return batchUpdate(connection, sql, bindBatchParameters(batchArgs));
+    }
+
+    public int[] batchUpdate(Connection connection, String sql, BatchPreparedStatementSetter setter) {
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            log.debug("batch query : {}", sql);
+            int[] rowsAffected = executeBatch(pstmt, setter);
+            afterUpdate(connection, sql);
+            return rowsAffected;
+        } catch (SQLException e) {
+            log.error(e.getMessage(), e);
+            throw new DataAccessException(e);
+        }
+    }
+
+    public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+        return batchUpdate(sql, bindBatchParameters(batchArgs));
+    }
+
+    public int[] batchUpdate(String sql, BatchPreparedStatementSetter setter) {
+        return execute(con -> batchUpdate(con, sql, setter));
+    }
+
+    public int[] batchUpdate(Connection connection, String sql, List<Object[]> batchArgs, KeyHolder keyHolder) {
+        return batchUpdate(connection, sql, bindBatchParameters(batchArgs), keyHolder);
+    }
+
+    public int[] batchUpdate(Connection connection, String sql, BatchPreparedStatementSetter setter, KeyHolder keyHolder) {
+        try (PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            log.debug("batch query : {}", sql);
+            int[] rowsAffected = executeBatch(pstmt, setter, keyHolder);
+            afterUpdate(connection, sql);
+            return rowsAffected;
+        } catch (SQLException e) {
+            log.error(e.getMessage(), e);
+            throw new DataAccessException(e);
+        }
+    }
+
+    public int[] batchUpdate(String sql, List<Object[]> batchArgs, KeyHolder keyHolder) {
+        return batchUpdate(sql, bindBatchParameters(batchArgs), keyHolder);
+    }
+
+    public int[] batchUpdate(String sql, BatchPreparedStatementSetter setter, KeyHolder keyHolder) {
+        return execute(con -> batchUpdate(con, sql, setter, keyHolder));
+    }
+
+    private int[] executeBatch(PreparedStatement pstmt, BatchPreparedStatementSetter setter) throws SQLException {
+        return executeBatch(pstmt, setter, null);
+    }
+
+    private int[] executeBatch(PreparedStatement pstmt, BatchPreparedStatementSetter setter, KeyHolder keyHolder) throws SQLException {
+        int size = setter.getBatchSize();
+        int[] rowsAffected = new int[size];
+        int pending = 0;
+        for (int i = 0; i < size; i++) {
+            setter.setValues(pstmt, i);
+            pstmt.addBatch();
+            pending++;
+            if (pending == batchSize || i == size - 1) {
+                int[] counts = pstmt.executeBatch();
+                System.arraycopy(counts, 0, rowsAffected, i + 1 - pending, Math.min(counts.length, pending));
+                extractGeneratedKeys(pstmt, keyHolder);
+                pending = 0;
+            }
+        }
+        return rowsAffected;
+    }
+
     public <T> List<T> query(Connection connection, String sql, RowMapper<T> mapper, Object... parameters) {
         return query(connection, sql, bindParameters(parameters), mapper);
     }
 
     public <T> List<T> query(Connection connection, String sql, PreparedStatementSetter setter, RowMapper<T> mapper) {
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        List<T> results = new ArrayList<>();
+        queryWithCallback(connection, sql, setter, rs -> results.add(mapper.mapRow(rs)), fetchSize);
+        return results;
+    }
+
+    public <T> List<T> query(String sql, RowMapper<T> mapper, Object... parameters) {
+        if (queryResultCache == null) {
+            return query(sql, bindParameters(parameters), mapper);
+        }
+        return cachedQuery(sql, mapper, parameters, () -> query(sql, bindParameters(parameters), mapper));
+    }
+
+    public <T> List<T> query(String sql, PreparedStatementSetter setter, RowMapper<T> mapper) {
+        List<T> results = new ArrayList<>();
+        queryWithCallback(sql, setter, rs -> results.add(mapper.mapRow(rs)), fetchSize);
+        return results;
+    }
+
+    public void queryWithCallback(Connection connection, String sql, RowCallbackHandler handler, Object... parameters) {
+        queryWithCallback(connection, sql, bindParameters(parameters), handler, fetchSize);
+    }
 
+    public void queryWithCallback(Connection connection, String sql, PreparedStatementSetter setter, RowCallbackHandler handler, int fetchSize) {
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
             log.debug("query : {}", sql);
+            applyFetchSize(pstmt, fetchSize);
             setter.setValues(pstmt);
 
             try (ResultSet rs = pstmt.executeQuery()) {
-                List<T> results = new ArrayList<>();
                 while (rs.next()) {
-                    results.add(mapper.mapRow(rs));
+                    handler.processRow(rs);
                 }
-                return results;
             }
         } catch (SQLException e) {
             log.error(e.getMessage(), e);
@@ -73,23 +285,187 @@ public class JdbcTemplate {
         }
     }
 
-    public <T> List<T> query(String sql, RowMapper<T> mapper, Object... parameters) {
-        return query(sql, bindParameters(parameters), mapper);
+    public void queryWithCallback(String sql, RowCallbackHandler handler, Object... parameters) {
+        queryWithCallback(sql, bindParameters(parameters), handler, fetchSize);
     }
 
-    public <T> List<T> query(String sql, PreparedStatementSetter setter, RowMapper<T> mapper) {
-        try (Connection con = dataSource.getConnection();
-             PreparedStatement pstmt = con.prepareStatement(sql)) {
+    public void queryWithCallback(String sql, PreparedStatementSetter setter, RowCallbackHandler handler, int fetchSize) {
+        execute(con -> {
+            queryWithCallback(con, sql, setter, handler, fetchSize);
+            return null;
+        });
+    }
+
+    public <T> Stream<T> queryForStream(Connection connection, String sql, RowMapper<T> mapper, Object... parameters) {
+        return queryForStream(connection, sql, bindParameters(parameters), mapper, fetchSize);
+    }
+
+    public <T> Stream<T> queryForStream(Connection connection, String sql, PreparedStatementSetter setter, RowMapper<T> mapper, int fetchSize) {
+        return openStream(connection, sql, setter, mapper, fetchSize, () -> {});
+    }
+
+    public <T> Stream<T> queryForStream(String sql, RowMapper<T> mapper, Object... parameters) {
+        return queryForStream(sql, bindParameters(parameters), mapper, fetchSize);
+    }
+
+    public <T> Stream<T> queryForStream(String sql, PreparedStatementSetter setter, RowMapper<T> mapper, int fetchSize) {
+        Connection con = DataSourceUtils.getConnection(dataSource, resourceContext, readOnly);
+        return openStream(con, sql, setter, mapper, fetchSize, () -> DataSourceUtils.releaseConnection(con, dataSource, resourceContext));
+    }
+
+    public <T> Flow.Publisher<T> queryForPublisher(String sql, RowMapper<T> mapper, Object... parameters) {
+        return new ResultSetPublisher<>(dataSource, resourceContext, readOnly, sql, bindParameters(parameters), mapper, null);
+    }
+
+    public <T> Flow.Publisher<T> queryForPublisherOn(Executor executor, String sql, PreparedStatementSetter setter, RowMapper<T> mapper) {
+        return new ResultSetPublisher<>(dataSource, resourceContext, readOnly, sql, setter, mapper, executor);
+    }
 
+    private <T> Stream<T> openStream(Connection con, String sql, PreparedStatementSetter setter, RowMapper<T> mapper,
+                                     int fetchSize, AutoCloseable connectionCloser) {
+        return openStream(con, sql, setter, fetchSize, connectionCloser,
+                rs -> StreamSupport.stream(new ResultSetSpliterator<>(rs, mapper), false));
+    }
+
+    private <S extends BaseStream<?, S>> S openStream(Connection con, String sql, PreparedStatementSetter setter, int fetchSize,
+                                                      AutoCloseable connectionCloser, Function<ResultSet, S> streamFactory) {
+        PreparedStatement pstmt = null;
+        try {
             log.debug("query : {}", sql);
+            pstmt = con.prepareStatement(sql);
+            applyFetchSize(pstmt, fetchSize);
             setter.setValues(pstmt);
+            ResultSet rs = pstmt.executeQuery();
+
+            AutoCloseable statementCloser = pstmt;
+            return streamFactory.apply(rs)
+                    .onClose(() -> closeAll(rs, statementCloser, connectionCloser));
+        } catch (SQLException | RuntimeException e) {
+            closeAll(pstmt, connectionCloser);
+            log.error(e.getMessage(), e);
+            throw e instanceof DataAccessException dae ? dae : new DataAccessException(e);
+        }
+    }
+
+    private void extractGeneratedKeys(PreparedStatement pstmt, KeyHolder keyHolder) throws SQLException {
+        if (keyHolder == null) {
+            return;
+        }
+        try (ResultSet keys = pstmt.getGeneratedKeys()) {
+            while (keys.next()) {
+                keyHolder.addKey(keys.getLong(1));
+            }
+        }
+    }
 
+    private void applyFetchSize(PreparedStatement pstmt, int fetchSize) throws SQLException {
+        if (fetchSize > 0) {
+            pstmt.setFetchSize(fetchSize);
+        }
+    }
+
+    private void closeAll(AutoCloseable... resources) {
+        for (AutoCloseable resource : resources) {
+            if (resource == null) {
+                continue;
+            }
+            try {
+                resource.close();
+            } catch (Exception e) {
+                log.warn("Failed to close JDBC resource", e);
+            }
+        }
+    }
+
+    public <T> List<T> query(String sql, Object[] parameters, int[] sqlTypes, RowMapper<T> mapper) {
+        return query(sql, bindParameters(parameters, sqlTypes), mapper);
+    }
+
+    public <T> T queryForObject(String sql, Object[] parameters, int[] sqlTypes, RowMapper<T> mapper) {
+        return singleResult(query(sql, parameters, sqlTypes, mapper));
+    }
+
+    public <T> T queryForObject(Connection connection, String sql, RowMapper<T> mapper, Object... parameters) {
+        return singleResult(query(connection, sql, mapper, parameters));
+    }
+
+    public <T> T queryForObject(String sql, RowMapper<T> mapper, Object... parameters) {
+        return singleResult(query(sql, mapper, parameters));
+    }
+
+    public long[] queryForLongArray(Connection connection, String sql, Object... parameters) {
+        LongBuffer buffer = new LongBuffer();
+        queryWithCallback(connection, sql, bindParameters(parameters), buffer, fetchSize);
+        return buffer.toArray();
+    }
+
+    public long[] queryForLongArray(String sql, Object... parameters) {
+        LongBuffer buffer = new LongBuffer();
+        queryWithCallback(sql, bindParameters(parameters), buffer, fetchSize);
+        return buffer.toArray();
+    }
+
+    public int[] queryForIntArray(Connection connection, String sql, Object... parameters) {
+        IntBuffer buffer = new IntBuffer();
+        queryWithCallback(connection, sql, bindParameters(parameters), buffer, fetchSize);
+        return buffer.toArray();
+    }
+
+    public int[] queryForIntArray(String sql, Object... parameters) {
+        IntBuffer buffer = new IntBuffer();
+        queryWithCallback(sql, bindParameters(parameters), buffer, fetchSize);
+        return buffer.toArray();
+    }
+
+    public LongStream queryForLongStream(Connection connection, String sql, Object... parameters) {
+        return openStream(connection, sql, bindParameters(parameters), fetchSize, () -> {},
+                rs -> StreamSupport.longStream(new ResultSetLongSpliterator(rs), false));
+    }
+
+    public LongStream queryForLongStream(String sql, Object... parameters) {
+        Connection con = DataSourceUtils.getConnection(dataSource, resourceContext, readOnly);
+        return openStream(con, sql, bindParameters(parameters), fetchSize,
+                () -> DataSourceUtils.releaseConnection(con, dataSource, resourceContext),
+                rs -> StreamSupport.longStream(new ResultSetLongSpliterator(rs), false));
+    }
+
+    /**
+     * 결과는 정확히 한 행이어야 한다. 행이 없거나 여러 행이거나 값이 SQL NULL이면 DataAccessException을 던진다.
+     */
+    public long queryForLong(Connection connection, String sql, Object... parameters) {
+        SingleValueHandler handler = new SingleValueHandler(sql, false);
+        queryWithCallback(connection, sql, bindParameters(parameters), handler, fetchSize);
+        return handler.value();
+    }
+
+    public long queryForLong(String sql, Object... parameters) {
+        SingleValueHandler handler = new SingleValueHandler(sql, false);
+        queryWithCallback(sql, bindParameters(parameters), handler, fetchSize);
+        return handler.value();
+    }
+
+    /**
+     * 결과는 정확히 한 행이어야 한다. 행이 없거나 여러 행이거나 값이 SQL NULL이면 DataAccessException을 던진다.
+     */
+    public int queryForInt(Connection connection, String sql, Object... parameters) {
+        SingleValueHandler handler = new SingleValueHandler(sql, true);
+        queryWithCallback(connection, sql, bindParameters(parameters), handler, fetchSize);
+        return (int) handler.value();
+    }
+
+    public int queryForInt(String sql, Object... parameters) {
+        SingleValueHandler handler = new SingleValueHandler(sql, true);
+        queryWithCallback(sql, bindParameters(parameters), handler, fetchSize);
+        return (int) handler.value();
+    }
+
+    public ColumnarResult queryForColumns(Connection connection, String sql, Object... parameters) {
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            log.debug("query : {}", sql);
+            applyFetchSize(pstmt, fetchSize);
+            bindParameters(parameters).setValues(pstmt);
             try (ResultSet rs = pstmt.executeQuery()) {
-                List<T> results = new ArrayList<>();
-                while (rs.next()) {
-                    results.add(mapper.mapRow(rs));
-                }
-                return results;
+                return ColumnarResult.from(rs);
             }
         } catch (SQLException e) {
             log.error(e.getMessage(), e);
@@ -97,16 +473,104 @@ public class JdbcTemplate {
         }
     }
 
-    public <T> T queryForObject(Connection connection, String sql, RowMapper<T> mapper, Object... parameters) {
-        List<T> results = query(connection, sql, mapper, parameters);
-        if (results.isEmpty()) {
-            return null;
+    public ColumnarResult queryForColumns(String sql, Object... parameters) {
+        return execute(con -> queryForColumns(con, sql, parameters));
+    }
+
+    public <T> Page<T> queryForPage(String sql, String keyColumn, int pageSize, String continuationToken,
+                                    RowMapper<T> mapper, Object... parameters) {
+        return seekPage(sql, keyColumn, pageSize, Page.decodeToken(continuationToken), mapper, parameters);
+    }
+
+    /**
+     * sql을 {@code select * from (sql) p}로 감싸 키 순서로 읽고, afterKey가 있으면 {@code where p.key > ?}로 그 다음 페이지를 읽는다.
+     * 첫 페이지와 이후 페이지가 같은 형태라 정렬 기준이 같고, sql의 where 절에 or가 있어도 키 조건이 그 안에 섞이지 않는다.
+     * OFFSET과 달리 인덱스에서 바로 시작 위치를 찾으므로 페이지 깊이와 무관하게 비용이 일정하다.
+     * sql에는 order by, limit을 넣지 않고, 키 컬럼을 select 목록에 넣는다. 키는 정수나 문자열이어야 한다.
+     * 키는 유일해야 한다. 같은 키가 페이지 경계에 걸치면 {@code >} 조건이 나머지 행을 건너뛰므로, 그런 경우를 만나면 예외를 던진다.
+     */
+    public <T> Page<T> seekPage(String sql, String keyColumn, int pageSize, Object afterKey,
+                                RowMapper<T> mapper, Object... parameters) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive: " + pageSize);
         }
-        return results.getFirst();
+        Object seekKey = normalizeKey(afterKey);
+        if (seekKey != null && !isSupportedKey(seekKey)) {
+            throw new IllegalArgumentException("Keyset key must be an integer or a string: " + seekKey.getClass().getName());
+        }
+        String keyLabel = keyColumn.substring(keyColumn.lastIndexOf('.') + 1);
+        String pageSql = keysetSql(sql, keyLabel, seekKey != null);
+        Object[] pageParameters = Arrays.copyOf(parameters, parameters.length + (seekKey != null ? 2 : 1));
+        if (seekKey != null) {
+            pageParameters[parameters.length] = seekKey;
+        }
+        // 한 행을 더 읽어 다음 페이지가 있는지 추가 쿼리 없이 판단한다.
+        pageParameters[pageParameters.length - 1] = pageSize + 1;
+
+        List<T> content = new ArrayList<>(pageSize);
+        Object[] lastKey = new Object[1];
+        boolean[] hasNext = new boolean[1];
+        queryWithCallback(pageSql, bindParameters(pageParameters), rs -> {
+            if (content.size() == pageSize) {
+                hasNext[0] = true;
+                if (Objects.equals(normalizeKey(rs.getObject(keyLabel)), lastKey[0])) {
+                    throw new DataAccessException("Keyset column [" + keyColumn + "] must be unique, but ["
+                            + lastKey[0] + "] continues past the page boundary");
+                }
+                return;
+            }
+            content.add(mapper.mapRow(rs));
+            lastKey[0] = normalizeKey(rs.getObject(keyLabel));
+            // 토큰으로 만들 수 없는 키는 다음 페이지를 요청할 때가 아니라 지금 알린다.
+            if (!isSupportedKey(lastKey[0])) {
+                throw new DataAccessException("Keyset column [" + keyColumn + "] must be a non-null integer or string: " + lastKey[0]);
+            }
+        }, fetchSize);
+        return new Page<>(content, lastKey[0], hasNext[0]);
     }
 
-    public <T> T queryForObject(String sql, RowMapper<T> mapper, Object... parameters) {
-        List<T> results = query(sql, mapper, parameters);
+    public <T> Iterator<T> keysetIterator(String sql, String keyColumn, int pageSize, RowMapper<T> mapper,
+                                          Object... parameters) {
+        return new KeysetIterator<>(this, sql, keyColumn, pageSize, mapper, parameters);
+    }
+
+    private String keysetSql(String sql, String keyLabel, boolean seek) {
+        String seekCondition = seek ? " where p." + keyLabel + " > ?" : "";
+        return "select * from (" + sql + ") p" + seekCondition + " order by p." + keyLabel + " limit ?";
+    }
+
+    private Object normalizeKey(Object key) {
+        if (key instanceof Integer || key instanceof Short) {
+            return ((Number) key).longValue();
+        }
+        return key;
+    }
+
+    private boolean isSupportedKey(Object key) {
+        return key instanceof Long || key instanceof String;
+    }
+
+    private <T> List<T> cachedQuery(String sql, RowMapper<T> mapper, Object[] parameters, Supplier<List<T>> loader) {
+        // 현재 트랜잭션이 아직 커밋되지 않은 변경을 했다면 캐시를 건너뛰고 자신의 변경을 읽는다.
+        Connection bound = resourceContext.getResource(dataSource);
+        if (bound != null && queryResultCache.hasPendingInvalidation(bound)) {
+            return loader.get();
+        }
+        return queryResultCache.get(sql, mapper, parameters, loader);
+    }
+
+    void afterUpdate(Connection connection, String sql) throws SQLException {
+        if (queryResultCache == null) {
+            return;
+        }
+        if (DataSourceUtils.isConnectionTransactional(connection, dataSource, resourceContext) && !connection.getAutoCommit()) {
+            queryResultCache.invalidateAfterCompletion(connection, sql);
+        } else {
+            queryResultCache.invalidate(sql);
+        }
+    }
+
+    private <T> T singleResult(List<T> results) {
         if (results.isEmpty()) {
             return null;
         }
@@ -116,8 +580,103 @@ public class JdbcTemplate {
     private PreparedStatementSetter bindParameters(Object... parameters) {
         return pstmt -> {
             for (int i = 0; i < parameters.length; i++) {
-                pstmt.setObject(i + 1, parameters[i]);
+                StatementCreatorUtils.setParameterValue(pstmt, i + 1, parameters[i]);
+            }
+        };
+    }
+
+    private PreparedStatementSetter bindParameters(Object[] parameters, int[] sqlTypes) {
+        if (parameters.length != sqlTypes.length) {
+            throw new IllegalArgumentException("parameters and sqlTypes must have the same length");
+        }
+        return pstmt -> {
+            for (int i = 0; i < parameters.length; i++) {
+                StatementCreatorUtils.setParameterValue(pstmt, i + 1, sqlTypes[i], parameters[i]);
+            }
+        };
+    }
+
+    private BatchPreparedStatementSetter bindBatchParameters(List<Object[]> batchArgs) {
+        return new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                bindParameters(batchArgs.get(i)).setValues(ps);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return batchArgs.size();
             }
         };
     }
+
+    // 첫 번째 컬럼을 rs.getLong/getInt로 읽어 두 배씩 늘어나는 원시 배열에 담는다. 행마다 박싱하지 않는다.
+    // 배열로 읽을 때는 SQL NULL을 0으로 담는다.
+    private static final class LongBuffer implements RowCallbackHandler {
+
+        private long[] values = new long[16];
+        private int size;
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = rs.getLong(1);
+        }
+
+        private long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    private static final class IntBuffer implements RowCallbackHandler {
+
+        private int[] values = new int[16];
+        private int size;
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = rs.getInt(1);
+        }
+
+        private int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    // 값 하나를 읽는다. 두 번째 행이 오면 나머지 행을 읽지 않고 바로 실패하고, SQL NULL은 wasNull()로 가려낸다.
+    private static final class SingleValueHandler implements RowCallbackHandler {
+
+        private final String sql;
+        private final boolean intValue;
+        private long value;
+        private int rows;
+
+        private SingleValueHandler(String sql, boolean intValue) {
+            this.sql = sql;
+            this.intValue = intValue;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            if (++rows > 1) {
+                throw new DataAccessException("Expected one row but got 2 or more: " + sql);
+            }
+            value = intValue ? rs.getInt(1) : rs.getLong(1);
+            if (rs.wasNull()) {
+                throw new DataAccessException("Expected a non-null value but got NULL: " + sql);
+            }
+        }
+
+        private long value() {
+            if (rows == 0) {
+                throw new DataAccessException("Expected one row but got 0: " + sql);
+            }
+            return value;
+        }
+    }
 }
@@ -0,0 +1,36 @@
+package com.interface21.jdbc.core;
+
+import com.interface21.dao.DataAccessException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class KeyHolder {
+
+    private final List<Long> keys = new ArrayList<>();
+
+    void addKey(long key) {
+        keys.add(key);
+    }
+
+    public Long getKey() {
+        if (keys.isEmpty()) {
+            return null;
+        }
+        if (keys.size() > 1) {
+            throw new DataAccessException("Expected a single generated key but got " + keys.size());
+        }
+        return keys.getFirst();
+    }
+
+    public List<Long> getKeys() {
+        return Collections.unmodifiableList(keys);
+    }
+
+    @Override
+    public String toString() {
+        return "KeyHolder{" +
+                "keys=" + keys +
+                '}';
+    }
+}
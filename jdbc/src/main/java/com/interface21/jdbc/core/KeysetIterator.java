@@ -0,0 +1,50 @@
+package com.interface21.jdbc.core;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * 필요할 때마다 다음 페이지를 조회하므로 테이블 전체를 순회해도 메모리에는 한 페이지만 올라간다.
+ */
+class KeysetIterator<T> implements Iterator<T> {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String sql;
+    private final String keyColumn;
+    private final int pageSize;
+    private final RowMapper<T> mapper;
+    private final Object[] parameters;
+    private Page<T> page;
+    private Iterator<T> current;
+
+    KeysetIterator(JdbcTemplate jdbcTemplate, String sql, String keyColumn, int pageSize,
+                   RowMapper<T> mapper, Object[] parameters) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sql = sql;
+        this.keyColumn = keyColumn;
+        this.pageSize = pageSize;
+        this.mapper = mapper;
+        this.parameters = parameters;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (current == null || !current.hasNext()) {
+            if (page != null && !page.hasNext()) {
+                return false;
+            }
+            Object afterKey = page == null ? null : page.lastKey();
+            page = jdbcTemplate.seekPage(sql, keyColumn, pageSize, afterKey, mapper, parameters);
+            current = page.content().iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+}
@@ -0,0 +1,47 @@
+package com.interface21.jdbc.core;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * keyset 페이지네이션의 한 페이지. 다음 페이지가 있으면 마지막 행의 키를 담은 불투명한 토큰을 함께 돌려준다.
+ */
+public record Page<T>(List<T> content, Object lastKey, boolean hasNext) {
+
+    private static final char LONG_KEY = 'L';
+    private static final char STRING_KEY = 'S';
+
+    public String nextToken() {
+        if (!hasNext) {
+            return null;
+        }
+        String encoded = switch (lastKey) {
+            case Long value -> LONG_KEY + value.toString();
+            case String value -> STRING_KEY + value;
+            default -> throw new IllegalStateException("Unsupported key type: " + lastKey.getClass().getName());
+        };
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(encoded.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Object decodeToken(String token) {
+        if (token == null) {
+            return null;
+        }
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed continuation token: " + token, e);
+        }
+        if (decoded.isEmpty()) {
+            throw new IllegalArgumentException("Malformed continuation token: " + token);
+        }
+        String value = decoded.substring(1);
+        return switch (decoded.charAt(0)) {
+            case LONG_KEY -> Long.valueOf(value);
+            case STRING_KEY -> value;
+            default -> throw new IllegalArgumentException("Malformed continuation token: " + token);
+        };
+    }
+}
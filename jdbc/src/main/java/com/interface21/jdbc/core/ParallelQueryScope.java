@@ -0,0 +1,186 @@
+package com.interface21.jdbc.core;
+
+import com.interface21.dao.DataAccessException;
+import com.interface21.jdbc.datasource.DataSourceUtils;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * StructuredTaskScope.ShutdownOnFailure와 같은 규칙으로 독립적인 쿼리를 가상 스레드에서 동시에 실행한다.
+ * 각 작업은 풀에서 자기 커넥션을 받아 스레드에 바인딩하므로 DAO 메서드를 그대로 호출할 수 있다.
+ * 하나라도 실패하거나 기한을 넘기면 나머지 작업의 Statement를 cancel()한다.
+ * 드라이버 I/O 중인 스레드를 인터럽트하면 풀의 커넥션이 망가질 수 있으므로 인터럽트하지 않는다.
+ * 다만 아직 풀에서 커넥션을 기다리는 작업은 cancel할 Statement가 없으므로, 그 대기만 인터럽트로 끊는다.
+ */
+public class ParallelQueryScope implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ParallelQueryScope.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long deadlineNanos;
+    private final List<Subtask<?>> subtasks = new ArrayList<>();
+    private final BlockingQueue<Subtask<?>> completed = new LinkedBlockingQueue<>();
+    private boolean joined;
+
+    ParallelQueryScope(JdbcTemplate jdbcTemplate, Duration deadline) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.deadlineNanos = System.nanoTime() + deadline.toNanos();
+    }
+
+    public <T> Subtask<T> fork(Callable<T> task) {
+        if (joined) {
+            throw new IllegalStateException("Scope is already joined");
+        }
+        final var subtask = new Subtask<>(task);
+        subtasks.add(subtask);
+        subtask.thread = Thread.ofVirtual().name("jdbc-fan-out-", subtasks.size()).start(subtask::run);
+        return subtask;
+    }
+
+    public void join() {
+        joined = true;
+        int remaining = subtasks.size();
+        try {
+            while (remaining > 0) {
+                long timeout = deadlineNanos - System.nanoTime();
+                Subtask<?> done = completed.poll(Math.max(timeout, 0), TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    shutdown();
+                    throw new DataAccessException("Parallel queries did not finish before the deadline",
+                            new TimeoutException());
+                }
+                if (done.failure != null) {
+                    shutdown();
+                    throw new DataAccessException("Parallel query failed", done.failure);
+                }
+                remaining--;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            shutdown();
+            throw new DataAccessException("Interrupted while waiting for parallel queries", e);
+        }
+    }
+
+    private void shutdown() {
+        for (Subtask<?> subtask : subtasks) {
+            subtask.cancel();
+        }
+    }
+
+    @Override
+    public void close() {
+        shutdown();
+        for (Subtask<?> subtask : subtasks) {
+            try {
+                subtask.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    public final class Subtask<T> {
+
+        private final Callable<T> task;
+        private final StatementTracker statements = new StatementTracker();
+        private volatile Thread thread;
+        private volatile boolean done;
+        private boolean acquiring = true;
+        private boolean cancelledWhileAcquiring;
+        private T result;
+        private Throwable failure;
+
+        private Subtask(Callable<T> task) {
+            this.task = task;
+        }
+
+        private void run() {
+            final var dataSource = jdbcTemplate.getDataSource();
+            final var resourceContext = jdbcTemplate.getResourceContext();
+            Connection connection = null;
+            try {
+                connection = DataSourceUtils.getConnection(dataSource, resourceContext, jdbcTemplate.isReadOnly());
+                if (!finishAcquiring()) {
+                    return;
+                }
+                resourceContext.bindResource(dataSource, statements.track(connection));
+                try {
+                    result = task.call();
+                } finally {
+                    resourceContext.unbindResource(dataSource);
+                }
+            } catch (Throwable e) {
+                failure = statements.isCancelled() ? null : e;
+            } finally {
+                closeQuietly(connection);
+                done = true;
+                completed.add(this);
+            }
+        }
+
+        private void cancel() {
+            if (done) {
+                return;
+            }
+            statements.cancel();
+            interruptIfAcquiring();
+        }
+
+        // 커넥션을 받은 뒤에는 인터럽트하지 않도록 두 메서드가 같은 모니터로 상태를 넘긴다.
+        private synchronized void interruptIfAcquiring() {
+            if (acquiring) {
+                cancelledWhileAcquiring = true;
+                thread.interrupt();
+            }
+        }
+
+        private synchronized boolean finishAcquiring() {
+            acquiring = false;
+            if (cancelledWhileAcquiring) {
+                Thread.interrupted();
+                return false;
+            }
+            return true;
+        }
+
+        private void closeQuietly(Connection connection) {
+            if (connection == null) {
+                return;
+            }
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                log.warn("Failed to close JDBC Connection", e);
+            }
+        }
+
+        public T get() {
+            if (!done || !joined) {
+                throw new IllegalStateException("Subtask is not completed; call join() first");
+            }
+            if (failure != null) {
+                throw new IllegalStateException("Subtask failed", failure);
+            }
+            if (statements.isCancelled()) {
+                throw new IllegalStateException("Subtask was cancelled");
+            }
+            return result;
+        }
+
+        public boolean isDone() {
+            return done;
+        }
+    }
+}
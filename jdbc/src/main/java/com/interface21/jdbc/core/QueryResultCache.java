@@ -0,0 +1,261 @@
+package com.interface21.jdbc.core;
+
+import com.interface21.transaction.support.TransactionSynchronization;
+import com.interface21.transaction.support.TransactionSynchronizationManager;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * SQL, 파라미터, RowMapper 인스턴스를 키로 조회 결과를 보관하는 LRU 캐시.
+ * 같은 SQL이라도 RowMapper가 다르면 결과 타입이 다를 수 있으므로 따로 보관한다. RowMapper는 상수로 두고 재사용해야 캐시가 맞는다.
+ * 항목은 조회한 테이블별로 색인되어, 같은 테이블을 변경하는 update가 실행되면 함께 무효화된다.
+ * 호출자가 받은 객체를 수정해도 캐시가 오염되지 않도록, 저장할 때와 꺼낼 때 모두 행을 복사한다.
+ * 문자열, 숫자, 날짜, enum처럼 불변인 값은 그대로 쓰고, 그 밖의 타입은 {@link #registerCopier}로 복사 함수를 등록해야 캐시된다.
+ * 복사 함수가 없는 타입의 결과는 캐시하지 않고 매번 조회한다.
+ */
+public class QueryResultCache {
+
+    private static final Set<Class<?>> IMMUTABLE_TYPES = Set.of(String.class, Long.class, Integer.class, Short.class,
+            Byte.class, Double.class, Float.class, Boolean.class, Character.class, BigDecimal.class,
+            LocalDate.class, LocalDateTime.class, Instant.class);
+
+    private final int maximumSize;
+    private final Map<Class<?>, UnaryOperator<Object>> copiers = new ConcurrentHashMap<>();
+    private final long timeToLiveNanos;
+    private final Map<Key, Entry> entries;
+    private final Map<String, Set<Key>> keysByTable = new HashMap<>();
+    private final Map<Connection, Set<String>> pendingInvalidations = new IdentityHashMap<>();
+    private long invalidationCount;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public QueryResultCache(int maximumSize, Duration timeToLive) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() <= QueryResultCache.this.maximumSize) {
+                    return false;
+                }
+                unindex(eldest.getKey(), eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    /**
+     * 변경 가능한 행 타입을 캐시하려면 깊은 복사를 하는 함수를 등록한다. 타입은 정확히 일치해야 한다.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> void registerCopier(Class<T> type, UnaryOperator<T> copier) {
+        copiers.put(type, row -> copier.apply((T) row));
+    }
+
+    <T> List<T> get(String sql, RowMapper<T> mapper, Object[] parameters, Supplier<List<T>> loader) {
+        Set<String> tables = SqlTableNames.of(sql);
+        if (tables.isEmpty()) {
+            misses.increment();
+            return loader.get();
+        }
+        Key key = new Key(sql, mapper, Arrays.asList(parameters.clone()));
+        long observedInvalidations;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt() - System.nanoTime() > 0) {
+                hits.increment();
+                @SuppressWarnings("unchecked")
+                List<T> rows = (List<T>) copyRows(entry.rows());
+                return rows;
+            }
+            if (entry != null) {
+                remove(key);
+            }
+            observedInvalidations = invalidationCount;
+        }
+        misses.increment();
+        List<T> rows = loader.get();
+        if (!isCopyable(rows)) {
+            return rows;
+        }
+        List<?> snapshot = Collections.unmodifiableList(copyRows(rows));
+        synchronized (this) {
+            // 조회하는 동안 무효화가 있었다면 이미 오래된 결과일 수 있으므로 저장하지 않는다.
+            if (observedInvalidations == invalidationCount) {
+                put(key, new Entry(snapshot, System.nanoTime() + timeToLiveNanos, tables));
+            }
+        }
+        return rows;
+    }
+
+    private boolean isCopyable(List<?> rows) {
+        for (Object row : rows) {
+            if (copierFor(row) == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<Object> copyRows(List<?> rows) {
+        List<Object> copies = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            copies.add(copierFor(row).apply(row));
+        }
+        return copies;
+    }
+
+    private UnaryOperator<Object> copierFor(Object row) {
+        if (row == null || row instanceof Enum<?> || IMMUTABLE_TYPES.contains(row.getClass())) {
+            return UnaryOperator.identity();
+        }
+        return copiers.get(row.getClass());
+    }
+
+    public void invalidate(String sql) {
+        Set<String> tables = SqlTableNames.of(sql);
+        if (tables.isEmpty()) {
+            clear();
+            return;
+        }
+        synchronized (this) {
+            tables.forEach(this::invalidateTableLocked);
+        }
+    }
+
+    public synchronized void invalidateTable(String table) {
+        invalidateTableLocked(table.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * 트랜잭션 안의 update는 커밋 전까지 다른 트랜잭션에 보이지 않으므로, 무효화를 트랜잭션 종료 시점으로 미룬다.
+     * 롤백되더라도 무효화한다. 트랜잭션 안에서 캐시된 객체를 수정했을 수 있기 때문이다.
+     */
+    void invalidateAfterCompletion(Connection transactionConnection, String sql) {
+        boolean first;
+        synchronized (this) {
+            Set<String> pending = pendingInvalidations.get(transactionConnection);
+            first = pending == null;
+            if (first) {
+                pending = new HashSet<>();
+                pendingInvalidations.put(transactionConnection, pending);
+            }
+            pending.add(sql);
+        }
+        if (first) {
+            TransactionSynchronizationManager.registerSynchronization(transactionConnection, new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(boolean committed) {
+                    applyPendingInvalidations(transactionConnection);
+                }
+            });
+        }
+    }
+
+    synchronized boolean hasPendingInvalidation(Connection transactionConnection) {
+        return pendingInvalidations.containsKey(transactionConnection);
+    }
+
+    private void applyPendingInvalidations(Connection transactionConnection) {
+        Set<String> pending;
+        synchronized (this) {
+            pending = pendingInvalidations.remove(transactionConnection);
+        }
+        if (pending != null) {
+            pending.forEach(this::invalidate);
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        keysByTable.clear();
+        invalidationCount++;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    private void invalidateTableLocked(String table) {
+        invalidationCount++;
+        Set<Key> keys = keysByTable.remove(table);
+        if (keys == null) {
+            return;
+        }
+        for (Key key : keys) {
+            remove(key);
+        }
+    }
+
+    private void put(Key key, Entry entry) {
+        Entry previous = entries.put(key, entry);
+        if (previous != null) {
+            unindex(key, previous);
+        }
+        for (String table : entry.tables()) {
+            keysByTable.computeIfAbsent(table, t -> new HashSet<>()).add(key);
+        }
+    }
+
+    private void remove(Key key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            unindex(key, removed);
+        }
+    }
+
+    private void unindex(Key key, Entry entry) {
+        for (String table : entry.tables()) {
+            Set<Key> keys = keysByTable.get(table);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    keysByTable.remove(table);
+                }
+            }
+        }
+    }
+
+    private record Key(String sql, RowMapper<?> mapper, List<Object> parameters) {
+    }
+
+    private record Entry(List<?> rows, long expiresAt, Set<String> tables) {
+    }
+}
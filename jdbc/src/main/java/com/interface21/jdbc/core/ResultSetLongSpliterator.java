@@ -0,0 +1,31 @@
+package com.interface21.jdbc.core;
+
+import com.interface21.dao.DataAccessException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.LongConsumer;
+
+class ResultSetLongSpliterator extends Spliterators.AbstractLongSpliterator {
+
+    private final ResultSet resultSet;
+
+    ResultSetLongSpliterator(ResultSet resultSet) {
+        super(Long.MAX_VALUE, Spliterator.ORDERED);
+        this.resultSet = resultSet;
+    }
+
+    @Override
+    public boolean tryAdvance(LongConsumer action) {
+        try {
+            if (!resultSet.next()) {
+                return false;
+            }
+            action.accept(resultSet.getLong(1));
+            return true;
+        } catch (SQLException e) {
+            throw new DataAccessException(e);
+        }
+    }
+}
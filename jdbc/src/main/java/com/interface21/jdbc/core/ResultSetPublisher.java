@@ -0,0 +1,196 @@
+package com.interface21.jdbc.core;
+
+import com.interface21.jdbc.datasource.DataSourceUtils;
+import com.interface21.transaction.support.TransactionResourceContext;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * executor를 지정하지 않으면 구독마다 가상 스레드 하나가 ResultSet을 끝까지 맡는다.
+ * ResultSet과 커넥션을 여러 스레드가 번갈아 진행시키거나 닫지 않도록 하기 위해서다.
+ * executor를 지정하면 drain은 항상 그 executor에서 실행되고, 한 번에 하나만 실행되는 것만 보장한다.
+ */
+class ResultSetPublisher<T> implements Flow.Publisher<T> {
+
+    private static final Logger log = LoggerFactory.getLogger(ResultSetPublisher.class);
+
+    private static final int MAX_FETCH_SIZE = 1000;
+
+    private final DataSource dataSource;
+    private final TransactionResourceContext resourceContext;
+    private final boolean readOnly;
+    private final String sql;
+    private final PreparedStatementSetter setter;
+    private final RowMapper<T> mapper;
+    private final Executor executor;
+
+    ResultSetPublisher(DataSource dataSource, TransactionResourceContext resourceContext, boolean readOnly, String sql,
+                       PreparedStatementSetter setter, RowMapper<T> mapper, Executor executor) {
+        this.dataSource = dataSource;
+        this.resourceContext = resourceContext;
+        this.readOnly = readOnly;
+        this.sql = sql;
+        this.setter = setter;
+        this.mapper = mapper;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        subscriber.onSubscribe(new ResultSetSubscription(subscriber));
+    }
+
+    private class ResultSetSubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super T> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile Throwable invalidRequest;
+        private volatile Thread drainThread;
+        private boolean done;
+
+        private Connection connection;
+        private boolean transactional;
+        private PreparedStatement pstmt;
+        private ResultSet rs;
+
+        private ResultSetSubscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("Requested items must be positive: " + n);
+            } else {
+                demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            if (executor != null) {
+                executor.execute(this::drain);
+            } else if (drainThread == null) {
+                Thread thread = Thread.ofVirtual().name("jdbc-publisher").unstarted(this::drainLoop);
+                drainThread = thread;
+                thread.start();
+            } else {
+                LockSupport.unpark(drainThread);
+            }
+        }
+
+        private void drainLoop() {
+            while (!done) {
+                if (wip.get() == 0) {
+                    LockSupport.park(this);
+                    continue;
+                }
+                drain();
+            }
+        }
+
+        // request()가 onNext 안에서 재진입해도 한 스레드만 ResultSet을 진행시키도록 wip 카운터로 직렬화한다.
+        private void drain() {
+            int missed = 1;
+            do {
+                if (!done) {
+                    if (cancelled) {
+                        finish();
+                    } else if (invalidRequest != null) {
+                        finish();
+                        subscriber.onError(invalidRequest);
+                    } else {
+                        emit();
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void emit() {
+            long requested = demand.get();
+            if (requested == 0) {
+                return;
+            }
+            try {
+                int fetchSize = (int) Math.min(requested, MAX_FETCH_SIZE);
+                if (rs == null) {
+                    open(fetchSize);
+                } else {
+                    rs.setFetchSize(fetchSize);
+                }
+                long emitted = 0;
+                while (emitted < requested && !cancelled) {
+                    if (!rs.next()) {
+                        finish();
+                        subscriber.onComplete();
+                        return;
+                    }
+                    subscriber.onNext(mapper.mapRow(rs));
+                    emitted++;
+                }
+                if (requested != Long.MAX_VALUE) {
+                    demand.addAndGet(-emitted);
+                }
+            } catch (Throwable e) {
+                finish();
+                subscriber.onError(e);
+            }
+        }
+
+        private void open(int fetchSize) throws SQLException {
+            log.debug("query : {}", sql);
+            connection = DataSourceUtils.getConnection(dataSource, resourceContext, readOnly);
+            // Executor를 쓰면 반납이 다른 스레드에서 일어날 수 있으므로 트랜잭션 참여 여부를 얻은 자리에서 확인해 둔다.
+            transactional = DataSourceUtils.isConnectionTransactional(connection, dataSource, resourceContext);
+            pstmt = connection.prepareStatement(sql);
+            pstmt.setFetchSize(fetchSize);
+            setter.setValues(pstmt);
+            rs = pstmt.executeQuery();
+        }
+
+        private void finish() {
+            done = true;
+            try {
+                if (rs != null) {
+                    rs.close();
+                }
+                if (pstmt != null) {
+                    pstmt.close();
+                }
+            } catch (SQLException e) {
+                log.warn("Failed to close JDBC resource", e);
+            } finally {
+                if (connection != null) {
+                    DataSourceUtils.releaseConnection(connection, transactional);
+                }
+                rs = null;
+                pstmt = null;
+                connection = null;
+            }
+        }
+    }
+}
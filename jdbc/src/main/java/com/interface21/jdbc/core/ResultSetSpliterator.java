@@ -0,0 +1,33 @@
+package com.interface21.jdbc.core;
+
+import com.interface21.dao.DataAccessException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+class ResultSetSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+    private final ResultSet resultSet;
+    private final RowMapper<T> mapper;
+
+    ResultSetSpliterator(ResultSet resultSet, RowMapper<T> mapper) {
+        super(Long.MAX_VALUE, Spliterator.ORDERED);
+        this.resultSet = resultSet;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        try {
+            if (!resultSet.next()) {
+                return false;
+            }
+            action.accept(mapper.mapRow(resultSet));
+            return true;
+        } catch (SQLException e) {
+            throw new DataAccessException(e);
+        }
+    }
+}
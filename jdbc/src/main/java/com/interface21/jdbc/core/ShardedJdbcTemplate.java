@@ -0,0 +1,212 @@
+package com.interface21.jdbc.core;
+
+import com.interface21.dao.DataAccessException;
+import com.interface21.jdbc.datasource.ShardRouter;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 샤드 키가 있는 호출은 {@link ShardRouter}가 고른 샤드 하나에서 실행하고,
+ * 키가 없는 조회는 모든 샤드에서 가상 스레드로 동시에 실행해 각 샤드가 읽는 행을 도착하는 순서대로 하나의 Stream으로 흘려보낸다.
+ * 샤드 결과 전체를 모으지 않고 크기가 제한된 큐로 넘기므로, 소비가 느리면 샤드 쪽 읽기도 그만큼 기다린다.
+ * 한 샤드가 실패하거나 Stream을 닫으면 아직 실행 중인 샤드의 Statement를 Statement.cancel()로 취소한다.
+ * 샤드를 제거할 때는 {@link #removeShard(String)}를 써야 그 샤드의 JdbcTemplate도 함께 정리된다.
+ */
+public class ShardedJdbcTemplate {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardedJdbcTemplate.class);
+
+    private static final int BUFFERED_ROWS = 256;
+    private static final Executor VIRTUAL_THREADS = runnable -> Thread.ofVirtual().name("jdbc-shard-").start(runnable);
+
+    private final ShardRouter router;
+    private final Function<DataSource, JdbcTemplate> templateFactory;
+    private final Map<DataSource, JdbcTemplate> templates = new ConcurrentHashMap<>();
+
+    public ShardedJdbcTemplate(final ShardRouter router) {
+        this(router, JdbcTemplate::new);
+    }
+
+    public ShardedJdbcTemplate(final ShardRouter router, final Function<DataSource, JdbcTemplate> templateFactory) {
+        this.router = router;
+        this.templateFactory = templateFactory;
+    }
+
+    public JdbcTemplate forKey(Object shardKey) {
+        return templateFor(router.shardFor(shardKey));
+    }
+
+    public void update(Object shardKey, String sql, Object... parameters) {
+        forKey(shardKey).update(sql, parameters);
+    }
+
+    public void update(Object shardKey, String sql, KeyHolder keyHolder, Object... parameters) {
+        forKey(shardKey).update(sql, keyHolder, parameters);
+    }
+
+    public <T> List<T> query(Object shardKey, String sql, RowMapper<T> mapper, Object... parameters) {
+        return forKey(shardKey).query(sql, mapper, parameters);
+    }
+
+    public <T> T queryForObject(Object shardKey, String sql, RowMapper<T> mapper, Object... parameters) {
+        return forKey(shardKey).queryForObject(sql, mapper, parameters);
+    }
+
+    public <T> Stream<T> queryAll(String sql, RowMapper<T> mapper, Object... parameters) {
+        List<DataSource> shards = router.getShards();
+        StatementTracker statements = new StatementTracker();
+        MergedRows<T> rows = new MergedRows<>(shards.size(), statements);
+        for (DataSource shard : shards) {
+            VIRTUAL_THREADS.execute(() -> rows.produce(() -> queryShard(shard, statements, sql, mapper, rows, parameters)));
+        }
+        return StreamSupport.stream(rows, false).onClose(rows::close);
+    }
+
+    private <T> void queryShard(DataSource shard, StatementTracker statements, String sql, RowMapper<T> mapper,
+                                MergedRows<T> rows, Object... parameters) {
+        JdbcTemplate template = templateFor(shard);
+        template.execute(con -> {
+            template.queryWithCallback(statements.track(con), sql, rs -> rows.put(mapper.mapRow(rs)), parameters);
+            return null;
+        });
+    }
+
+    public <T> List<T> queryAllForList(String sql, RowMapper<T> mapper, Object... parameters) {
+        try (Stream<T> rows = queryAll(sql, mapper, parameters)) {
+            return rows.toList();
+        }
+    }
+
+    public void removeShard(String name) {
+        templates.remove(router.removeShard(name));
+    }
+
+    private JdbcTemplate templateFor(DataSource shard) {
+        return templates.computeIfAbsent(shard, templateFactory);
+    }
+
+    int getTemplateCount() {
+        return templates.size();
+    }
+
+    public ShardRouter getRouter() {
+        return router;
+    }
+
+    /**
+     * 샤드마다 읽는 대로 행을 넘겨받는 크기 제한 큐. 소비가 느리면 샤드 쪽 읽기가 큐 앞에서 기다리므로
+     * 한 번에 메모리에 올라가는 행은 BUFFERED_ROWS개를 넘지 않는다.
+     */
+    private static final class MergedRows<T> extends Spliterators.AbstractSpliterator<T> {
+
+        private static final Object NULL_ROW = new Object();
+        private static final long OFFER_POLL_MILLIS = 100;
+
+        private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(BUFFERED_ROWS);
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private final StatementTracker statements;
+        private int remainingShards;
+        private volatile boolean closed;
+
+        private MergedRows(int shardCount, StatementTracker statements) {
+            super(Long.MAX_VALUE, 0);
+            this.remainingShards = shardCount;
+            this.statements = statements;
+        }
+
+        private void produce(Runnable query) {
+            Throwable shardFailure = null;
+            try {
+                query.run();
+            } catch (Throwable e) {
+                // 취소된 다른 샤드의 예외보다 처음 실패한 원인을 알리도록 먼저 기록한 뒤 취소한다.
+                failure.compareAndSet(null, e);
+                statements.cancel();
+                shardFailure = e;
+            }
+            try {
+                offer(new ShardDone(shardFailure));
+            } catch (DataAccessException e) {
+                log.debug("Merged shard stream closed before shard finished", e);
+            }
+        }
+
+        private void put(T row) {
+            offer(row == null ? NULL_ROW : row);
+        }
+
+        // 소비자가 Stream을 닫으면 기다리던 샤드가 빠져나올 수 있도록 주기적으로 닫힘을 확인한다.
+        private void offer(Object item) {
+            try {
+                while (!closed) {
+                    if (queue.offer(item, OFFER_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new DataAccessException("Interrupted while handing over shard rows", e);
+            }
+            throw new DataAccessException("Shard query stream was closed");
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean tryAdvance(Consumer<? super T> action) {
+            while (remainingShards > 0) {
+                Object item = take();
+                if (item instanceof ShardDone done) {
+                    remainingShards--;
+                    if (done.failure() != null) {
+                        close();
+                        throw toDataAccessException(failure.get());
+                    }
+                    continue;
+                }
+                action.accept(item == NULL_ROW ? null : (T) item);
+                return true;
+            }
+            return false;
+        }
+
+        private Object take() {
+            try {
+                return queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new DataAccessException("Interrupted while waiting for shard query", e);
+            }
+        }
+
+        private DataAccessException toDataAccessException(Throwable cause) {
+            if (cause instanceof DataAccessException dataAccessException) {
+                return dataAccessException;
+            }
+            return new DataAccessException("Shard query failed", cause);
+        }
+
+        private void close() {
+            closed = true;
+            statements.cancel();
+            queue.clear();
+        }
+    }
+
+    private record ShardDone(Throwable failure) {
+    }
+}
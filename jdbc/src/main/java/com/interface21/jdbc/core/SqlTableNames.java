@@ -0,0 +1,63 @@
+package com.interface21.jdbc.core;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * SQL에서 from, join, into, update 뒤에 오는 테이블 이름을 찾는다.
+ * 파서가 아니므로 쉼표로 테이블을 나열한 SQL은 모든 테이블을 찾았다고 장담할 수 없어 빈 집합을 돌려준다.
+ * 빈 집합은 "알 수 없음"이라는 뜻이고, 조회는 캐시하지 않고 변경은 캐시 전체를 무효화한다.
+ */
+final class SqlTableNames {
+
+    private static final Pattern TABLE_REFERENCE =
+            Pattern.compile("\\b(?:from|join|into|update)\\s+([a-z_][\\w.]*)", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern COMMA_JOIN =
+            Pattern.compile("\\b(?:from|update)\\s+[a-z_][\\w.]*(?:\\s+(?:as\\s+)?[a-z_]\\w*)?\\s*,", Pattern.CASE_INSENSITIVE);
+
+    private static final int CACHE_LIMIT = 256;
+
+    private static final Map<String, Set<String>> cache = new ConcurrentHashMap<>();
+
+    private SqlTableNames() {}
+
+    static Set<String> of(String sql) {
+        Set<String> tables = cache.get(sql);
+        if (tables != null) {
+            return tables;
+        }
+        tables = extract(sql);
+        if (cache.size() >= CACHE_LIMIT) {
+            evictOne();
+        }
+        cache.putIfAbsent(sql, tables);
+        return tables;
+    }
+
+    private static Set<String> extract(String sql) {
+        if (COMMA_JOIN.matcher(sql).find()) {
+            return Set.of();
+        }
+        Set<String> tables = new LinkedHashSet<>();
+        Matcher matcher = TABLE_REFERENCE.matcher(sql);
+        while (matcher.find()) {
+            tables.add(matcher.group(1).toLowerCase(Locale.ROOT));
+        }
+        return Set.copyOf(tables);
+    }
+
+    private static void evictOne() {
+        Iterator<String> keys = cache.keySet().iterator();
+        if (keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.interface21.jdbc.core;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public abstract class StatementCreatorUtils {
+
+    private static final ClassValue<ParameterSetter> SETTERS = new ClassValue<>() {
+        @Override
+        protected ParameterSetter computeValue(Class<?> type) {
+            return setterFor(type);
+        }
+    };
+
+    private StatementCreatorUtils() {}
+
+    public static void setParameterValue(PreparedStatement ps, int index, Object value) throws SQLException {
+        // id와 문자열 조건이 대부분이라 ClassValue 조회 없이 바로 바인딩한다.
+        if (value instanceof Long number) {
+            ps.setLong(index, number);
+            return;
+        }
+        if (value instanceof String text) {
+            ps.setString(index, text);
+            return;
+        }
+        if (value == null) {
+            ps.setObject(index, null);
+            return;
+        }
+        SETTERS.get(value.getClass()).set(ps, index, value);
+    }
+
+    public static void setParameterValue(PreparedStatement ps, int index, int sqlType, Object value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, sqlType);
+            return;
+        }
+        switch (sqlType) {
+            case Types.BIGINT -> ps.setLong(index, ((Number) value).longValue());
+            case Types.INTEGER, Types.SMALLINT, Types.TINYINT -> ps.setInt(index, ((Number) value).intValue());
+            case Types.VARCHAR, Types.CHAR, Types.LONGVARCHAR, Types.NVARCHAR -> ps.setString(index, value.toString());
+            case Types.BOOLEAN, Types.BIT -> ps.setBoolean(index, (Boolean) value);
+            case Types.DOUBLE, Types.FLOAT -> ps.setDouble(index, ((Number) value).doubleValue());
+            case Types.TIMESTAMP -> ps.setTimestamp(index, toTimestamp(value));
+            case Types.DATE -> ps.setDate(index, value instanceof LocalDate date ? Date.valueOf(date) : (Date) value);
+            default -> ps.setObject(index, value, sqlType);
+        }
+    }
+
+    private static Timestamp toTimestamp(Object value) {
+        if (value instanceof LocalDateTime dateTime) {
+            return Timestamp.valueOf(dateTime);
+        }
+        if (value instanceof Instant instant) {
+            return Timestamp.from(instant);
+        }
+        return (Timestamp) value;
+    }
+
+    private static ParameterSetter setterFor(Class<?> type) {
+        if (type == Long.class) {
+            return (ps, i, v) -> ps.setLong(i, (Long) v);
+        }
+        if (type == Integer.class) {
+            return (ps, i, v) -> ps.setInt(i, (Integer) v);
+        }
+        if (type == String.class) {
+            return (ps, i, v) -> ps.setString(i, (String) v);
+        }
+        if (type == LocalDateTime.class) {
+            return (ps, i, v) -> ps.setTimestamp(i, Timestamp.valueOf((LocalDateTime) v));
+        }
+        if (type == LocalDate.class) {
+            return (ps, i, v) -> ps.setDate(i, Date.valueOf((LocalDate) v));
+        }
+        if (type == Instant.class || type == Timestamp.class) {
+            return (ps, i, v) -> ps.setTimestamp(i, toTimestamp(v));
+        }
+        if (type == Boolean.class) {
+            return (ps, i, v) -> ps.setBoolean(i, (Boolean) v);
+        }
+        if (type == Double.class) {
+            return (ps, i, v) -> ps.setDouble(i, (Double) v);
+        }
+        if (type == BigDecimal.class) {
+            return (ps, i, v) -> ps.setBigDecimal(i, (BigDecimal) v);
+        }
+        if (type == byte[].class) {
+            return (ps, i, v) -> ps.setBytes(i, (byte[]) v);
+        }
+        if (type.isEnum()) {
+            return (ps, i, v) -> ps.setString(i, ((Enum<?>) v).name());
+        }
+        return PreparedStatement::setObject;
+    }
+
+    @FunctionalInterface
+    private interface ParameterSetter {
+        void set(PreparedStatement ps, int index, Object value) throws SQLException;
+    }
+}
@@ -0,0 +1,89 @@
+package com.interface21.jdbc.core;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 작업이 연 Statement를 기록해 두었다가 취소할 때 Statement.cancel()을 호출한다. 스레드는 인터럽트하지 않는다.
+ * 취소와 Statement 생성이 경합해도 놓치지 않도록, 기록한 뒤 취소 여부를 다시 확인해 그 자리에서 취소한다.
+ * 닫힌 Statement는 기록에서 지운다.
+ */
+final class StatementTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementTracker.class);
+
+    private final Set<Statement> statements = ConcurrentHashMap.newKeySet();
+    private volatile boolean cancelled;
+
+    // close()는 커넥션을 얻은 쪽이 원본에 대해 호출하므로 프록시에서는 무시한다.
+    Connection track(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("close")) {
+                        return null;
+                    }
+                    boolean createsStatement = Statement.class.isAssignableFrom(method.getReturnType());
+                    if (createsStatement && cancelled) {
+                        throw new SQLException("Query was cancelled");
+                    }
+                    Object value = invoke(method, connection, args);
+                    if (createsStatement && value instanceof Statement statement) {
+                        return register(method.getReturnType(), statement);
+                    }
+                    return value;
+                });
+    }
+
+    private Statement register(Class<?> statementType, Statement statement) {
+        statements.add(statement);
+        if (cancelled) {
+            cancelQuietly(statement);
+        }
+        return (Statement) Proxy.newProxyInstance(statementType.getClassLoader(),
+                new Class<?>[]{statementType}, (proxy, method, args) -> {
+                    if (method.getName().equals("close")) {
+                        statements.remove(statement);
+                    }
+                    return invoke(method, statement, args);
+                });
+    }
+
+    void cancel() {
+        cancelled = true;
+        for (Statement statement : statements) {
+            cancelQuietly(statement);
+        }
+    }
+
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    int getOpenStatementCount() {
+        return statements.size();
+    }
+
+    private void cancelQuietly(Statement statement) {
+        try {
+            statement.cancel();
+        } catch (SQLException e) {
+            log.debug("Failed to cancel statement", e);
+        }
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
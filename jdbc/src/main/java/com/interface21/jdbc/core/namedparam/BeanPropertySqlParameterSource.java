@@ -0,0 +1,91 @@
+package com.interface21.jdbc.core.namedparam;
+
+import com.interface21.dao.DataAccessException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+
+public class BeanPropertySqlParameterSource implements SqlParameterSource {
+
+    private static final ClassValue<Map<String, MethodHandle>> ACCESSORS = new ClassValue<>() {
+        @Override
+        protected Map<String, MethodHandle> computeValue(Class<?> type) {
+            return resolveAccessors(type);
+        }
+    };
+
+    private final Object bean;
+    private final Map<String, MethodHandle> accessors;
+
+    public BeanPropertySqlParameterSource(final Object bean) {
+        this.bean = bean;
+        this.accessors = ACCESSORS.get(bean.getClass());
+    }
+
+    @Override
+    public boolean hasValue(String paramName) {
+        return accessors.containsKey(paramName);
+    }
+
+    @Override
+    public Object getValue(String paramName) {
+        MethodHandle accessor = accessors.get(paramName);
+        if (accessor == null) {
+            throw new DataAccessException("No property '" + paramName + "' on " + bean.getClass().getSimpleName());
+        }
+        try {
+            return (Object) accessor.invokeExact(bean);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new DataAccessException("Failed to read property '" + paramName + "' of " + bean.getClass().getSimpleName(), e);
+        }
+    }
+
+    private static Map<String, MethodHandle> resolveAccessors(Class<?> type) {
+        Map<String, MethodHandle> accessors = new HashMap<>();
+        for (Method method : type.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers()) || method.getParameterCount() != 0
+                    || method.getReturnType() == void.class || method.getDeclaringClass() == Object.class) {
+                continue;
+            }
+            String property = propertyName(type, method);
+            if (property != null) {
+                accessors.putIfAbsent(property, toMethodHandle(method));
+            }
+        }
+        return Map.copyOf(accessors);
+    }
+
+    private static String propertyName(Class<?> type, Method method) {
+        String name = method.getName();
+        if (name.startsWith("get") && name.length() > 3) {
+            return decapitalize(name.substring(3));
+        }
+        if (name.startsWith("is") && name.length() > 2 && method.getReturnType() == boolean.class) {
+            return decapitalize(name.substring(2));
+        }
+        if (type.isRecord()) {
+            return name;
+        }
+        return null;
+    }
+
+    private static String decapitalize(String name) {
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static MethodHandle toMethodHandle(Method method) {
+        try {
+            method.setAccessible(true);
+            return MethodHandles.lookup().unreflect(method)
+                    .asType(MethodType.methodType(Object.class, Object.class));
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new DataAccessException("Failed to access " + method, e);
+        }
+    }
+}
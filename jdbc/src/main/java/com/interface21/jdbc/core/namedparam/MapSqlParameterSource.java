@@ -0,0 +1,32 @@
+package com.interface21.jdbc.core.namedparam;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class MapSqlParameterSource implements SqlParameterSource {
+
+    private final Map<String, Object> values;
+
+    public MapSqlParameterSource() {
+        this.values = new HashMap<>();
+    }
+
+    public MapSqlParameterSource(final Map<String, ?> values) {
+        this.values = new HashMap<>(values);
+    }
+
+    public MapSqlParameterSource addValue(String paramName, Object value) {
+        values.put(paramName, value);
+        return this;
+    }
+
+    @Override
+    public boolean hasValue(String paramName) {
+        return values.containsKey(paramName);
+    }
+
+    @Override
+    public Object getValue(String paramName) {
+        return values.get(paramName);
+    }
+}
@@ -0,0 +1,111 @@
+package com.interface21.jdbc.core.namedparam;
+
+import com.interface21.jdbc.core.JdbcTemplate;
+import com.interface21.jdbc.core.KeyHolder;
+import com.interface21.jdbc.core.RowMapper;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.sql.DataSource;
+
+public class NamedParameterJdbcTemplate {
+
+    private static final int DEFAULT_CACHE_LIMIT = 256;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int cacheLimit;
+    private final ConcurrentMap<String, ParsedSql> parsedSqlCache = new ConcurrentHashMap<>();
+
+    public NamedParameterJdbcTemplate(final DataSource dataSource) {
+        this(new JdbcTemplate(dataSource));
+    }
+
+    public NamedParameterJdbcTemplate(final JdbcTemplate jdbcTemplate) {
+        this(jdbcTemplate, DEFAULT_CACHE_LIMIT);
+    }
+
+    public NamedParameterJdbcTemplate(final JdbcTemplate jdbcTemplate, final int cacheLimit) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheLimit = cacheLimit;
+    }
+
+    public JdbcTemplate getJdbcTemplate() {
+        return jdbcTemplate;
+    }
+
+    public void update(Connection connection, String sql, SqlParameterSource source) {
+        ParsedSql parsedSql = getParsedSql(sql);
+        jdbcTemplate.update(connection, parsedSql.positionalSql(), NamedParameterUtils.buildValueArray(parsedSql, source));
+    }
+
+    public void update(String sql, SqlParameterSource source) {
+        ParsedSql parsedSql = getParsedSql(sql);
+        jdbcTemplate.update(parsedSql.positionalSql(), NamedParameterUtils.buildValueArray(parsedSql, source));
+    }
+
+    public void update(String sql, Map<String, ?> parameters) {
+        update(sql, new MapSqlParameterSource(parameters));
+    }
+
+    public void update(String sql, SqlParameterSource source, KeyHolder keyHolder) {
+        ParsedSql parsedSql = getParsedSql(sql);
+        jdbcTemplate.update(parsedSql.positionalSql(), keyHolder, NamedParameterUtils.buildValueArray(parsedSql, source));
+    }
+
+    public int[] batchUpdate(String sql, List<? extends SqlParameterSource> sources) {
+        ParsedSql parsedSql = getParsedSql(sql);
+        List<Object[]> batchArgs = new ArrayList<>(sources.size());
+        for (SqlParameterSource source : sources) {
+            batchArgs.add(NamedParameterUtils.buildValueArray(parsedSql, source));
+        }
+        return jdbcTemplate.batchUpdate(parsedSql.positionalSql(), batchArgs);
+    }
+
+    public <T> List<T> query(Connection connection, String sql, SqlParameterSource source, RowMapper<T> mapper) {
+        ParsedSql parsedSql = getParsedSql(sql);
+        return jdbcTemplate.query(connection, parsedSql.positionalSql(), mapper, NamedParameterUtils.buildValueArray(parsedSql, source));
+    }
+
+    public <T> List<T> query(String sql, SqlParameterSource source, RowMapper<T> mapper) {
+        ParsedSql parsedSql = getParsedSql(sql);
+        return jdbcTemplate.query(parsedSql.positionalSql(), mapper, NamedParameterUtils.buildValueArray(parsedSql, source));
+    }
+
+    public <T> List<T> query(String sql, Map<String, ?> parameters, RowMapper<T> mapper) {
+        return query(sql, new MapSqlParameterSource(parameters), mapper);
+    }
+
+    public <T> T queryForObject(String sql, SqlParameterSource source, RowMapper<T> mapper) {
+        ParsedSql parsedSql = getParsedSql(sql);
+        return jdbcTemplate.queryForObject(parsedSql.positionalSql(), mapper, NamedParameterUtils.buildValueArray(parsedSql, source));
+    }
+
+    public <T> T queryForObject(String sql, Map<String, ?> parameters, RowMapper<T> mapper) {
+        return queryForObject(sql, new MapSqlParameterSource(parameters), mapper);
+    }
+
+    ParsedSql getParsedSql(String sql) {
+        ParsedSql parsedSql = parsedSqlCache.get(sql);
+        if (parsedSql != null) {
+            return parsedSql;
+        }
+        parsedSql = NamedParameterUtils.parseSqlStatement(sql);
+        if (parsedSqlCache.size() >= cacheLimit) {
+            evictOne();
+        }
+        ParsedSql existing = parsedSqlCache.putIfAbsent(sql, parsedSql);
+        return existing != null ? existing : parsedSql;
+    }
+
+    private void evictOne() {
+        Iterator<String> keys = parsedSqlCache.keySet().iterator();
+        if (keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+}
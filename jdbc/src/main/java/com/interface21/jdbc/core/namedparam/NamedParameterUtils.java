@@ -0,0 +1,67 @@
+package com.interface21.jdbc.core.namedparam;
+
+import com.interface21.dao.DataAccessException;
+import java.util.ArrayList;
+import java.util.List;
+
+public abstract class NamedParameterUtils {
+
+    private NamedParameterUtils() {}
+
+    public static ParsedSql parseSqlStatement(String sql) {
+        StringBuilder positional = new StringBuilder(sql.length());
+        List<String> names = new ArrayList<>();
+        int i = 0;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if (c == '\'' || c == '"') {
+                int end = sql.indexOf(c, i + 1);
+                end = end < 0 ? sql.length() : end + 1;
+                positional.append(sql, i, end);
+                i = end;
+            } else if (c == '-' && sql.startsWith("--", i)) {
+                int end = sql.indexOf('\n', i);
+                end = end < 0 ? sql.length() : end + 1;
+                positional.append(sql, i, end);
+                i = end;
+            } else if (c == '/' && sql.startsWith("/*", i)) {
+                int end = sql.indexOf("*/", i + 2);
+                end = end < 0 ? sql.length() : end + 2;
+                positional.append(sql, i, end);
+                i = end;
+            } else if (c == ':' && i + 1 < sql.length() && sql.charAt(i + 1) == ':') {
+                positional.append("::");
+                i += 2;
+            } else if (c == ':' && i + 1 < sql.length() && isParameterChar(sql.charAt(i + 1))) {
+                int end = i + 1;
+                while (end < sql.length() && isParameterChar(sql.charAt(end))) {
+                    end++;
+                }
+                names.add(sql.substring(i + 1, end));
+                positional.append('?');
+                i = end;
+            } else {
+                positional.append(c);
+                i++;
+            }
+        }
+        return new ParsedSql(sql, positional.toString(), List.copyOf(names));
+    }
+
+    public static Object[] buildValueArray(ParsedSql parsedSql, SqlParameterSource source) {
+        List<String> names = parsedSql.parameterNames();
+        Object[] values = new Object[names.size()];
+        for (int i = 0; i < values.length; i++) {
+            String name = names.get(i);
+            if (!source.hasValue(name)) {
+                throw new DataAccessException("No value supplied for the SQL parameter '" + name + "'");
+            }
+            values[i] = source.getValue(name);
+        }
+        return values;
+    }
+
+    private static boolean isParameterChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+}
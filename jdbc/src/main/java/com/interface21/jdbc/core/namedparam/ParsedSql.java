@@ -0,0 +1,6 @@
+package com.interface21.jdbc.core.namedparam;
+
+import java.util.List;
+
+public record ParsedSql(String originalSql, String positionalSql, List<String> parameterNames) {
+}
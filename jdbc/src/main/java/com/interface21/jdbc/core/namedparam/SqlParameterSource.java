@@ -0,0 +1,8 @@
+package com.interface21.jdbc.core.namedparam;
+
+public interface SqlParameterSource {
+
+    boolean hasValue(String paramName);
+
+    Object getValue(String paramName);
+}
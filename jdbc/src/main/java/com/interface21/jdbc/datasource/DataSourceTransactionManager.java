@@ -0,0 +1,262 @@
+package com.interface21.jdbc.datasource;
+
+import com.interface21.transaction.PlatformTransactionManager;
+import com.interface21.transaction.TransactionDefinition;
+import com.interface21.transaction.TransactionException;
+import com.interface21.transaction.TransactionStatus;
+import com.interface21.transaction.UnexpectedRollbackException;
+import com.interface21.transaction.support.TransactionResourceContext;
+import com.interface21.transaction.support.TransactionSynchronizationManager;
+import com.interface21.transaction.support.TransactionSynchronizationManager.TransactionState;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class DataSourceTransactionManager implements PlatformTransactionManager {
+
+    private static final Logger log = LoggerFactory.getLogger(DataSourceTransactionManager.class);
+
+    private final DataSource dataSource;
+    private final TransactionResourceContext resourceContext;
+    private DataSource readOnlyDataSource;
+    private boolean readOnlyFastPath = true;
+
+    public DataSourceTransactionManager(final DataSource dataSource) {
+        this(dataSource, TransactionResourceContext.THREAD_LOCAL);
+    }
+
+    public DataSourceTransactionManager(final DataSource dataSource, final TransactionResourceContext resourceContext) {
+        this.dataSource = dataSource;
+        this.resourceContext = resourceContext;
+    }
+
+    public void setReadOnlyDataSource(DataSource readOnlyDataSource) {
+        this.readOnlyDataSource = readOnlyDataSource;
+    }
+
+    public void setReadOnlyFastPath(boolean readOnlyFastPath) {
+        this.readOnlyFastPath = readOnlyFastPath;
+    }
+
+    @Override
+    public TransactionStatus getTransaction(TransactionDefinition definition) {
+        Connection existing = resourceContext.getResource(dataSource);
+        if (existing == null) {
+            return begin(definition, null, null);
+        }
+        return switch (definition.propagation()) {
+            case REQUIRED -> new DataSourceTransactionStatus(existing, false, definition.readOnly(), null, null, null);
+            case REQUIRES_NEW -> {
+                // unbind가 바깥 트랜잭션의 동기화를 실행하지 않도록 먼저 떼어낸다.
+                TransactionState suspendedState = TransactionSynchronizationManager.suspendSynchronizations(existing);
+                yield begin(definition, resourceContext.unbindResource(dataSource), suspendedState);
+            }
+            case NESTED -> nested(definition, existing);
+        };
+    }
+
+    private DataSourceTransactionStatus nested(TransactionDefinition definition, Connection existing) {
+        assertInTransaction(existing);
+        // 세이브포인트로 되돌려도 그 전에 참여자가 남긴 rollback-only 표시는 살아 있어야 하므로 지금 값을 기억해 둔다.
+        boolean rollbackOnly = TransactionSynchronizationManager.isRollbackOnly(existing);
+        final var status = new DataSourceTransactionStatus(existing, false, definition.readOnly(),
+                createSavepoint(existing), null, null);
+        status.setRollbackOnlyBeforeSavepoint(rollbackOnly);
+        return status;
+    }
+
+    private void assertInTransaction(Connection connection) {
+        try {
+            if (connection.getAutoCommit()) {
+                throw new TransactionException("NESTED propagation requires a JDBC transaction, "
+                        + "but the outer transaction runs in auto-commit mode (e.g. the read-only fast path)");
+            }
+        } catch (SQLException e) {
+            throw new TransactionException("Could not check auto-commit mode for NESTED transaction", e);
+        }
+    }
+
+    private DataSourceTransactionStatus begin(TransactionDefinition definition, Connection suspended,
+                                              TransactionState suspendedState) {
+        Connection connection;
+        try {
+            connection = obtainConnection(definition);
+        } catch (SQLException e) {
+            resume(suspended, suspendedState);
+            throw new TransactionException("Could not open JDBC Connection for transaction", e);
+        }
+
+        final var status = new DataSourceTransactionStatus(connection, true, definition.readOnly(), null,
+                suspended, suspendedState);
+        try {
+            if (definition.readOnly() && !connection.isReadOnly()) {
+                connection.setReadOnly(true);
+                status.setMustRestoreReadOnly(true);
+            }
+            // 읽기 전용 트랜잭션은 autoCommit을 그대로 두어 commit/rollback 왕복을 생략한다.
+            boolean autoCommit = connection.getAutoCommit();
+            if (definition.readOnly() && readOnlyFastPath && autoCommit) {
+                status.setLocalTransaction(false);
+            } else if (autoCommit) {
+                connection.setAutoCommit(false);
+                status.setMustRestoreAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            cleanupAfterCompletion(status, false);
+            throw new TransactionException("Could not begin JDBC transaction", e);
+        }
+        resourceContext.bindResource(dataSource, connection);
+        return status;
+    }
+
+    private Connection obtainConnection(TransactionDefinition definition) throws SQLException {
+        if (definition.readOnly() && readOnlyDataSource != null) {
+            return readOnlyDataSource.getConnection();
+        }
+        return DataSourceUtils.doGetConnection(dataSource, definition.readOnly());
+    }
+
+    private Savepoint createSavepoint(Connection connection) {
+        try {
+            return connection.setSavepoint();
+        } catch (SQLException e) {
+            throw new TransactionException("Could not create JDBC savepoint", e);
+        }
+    }
+
+    @Override
+    public void commit(TransactionStatus transactionStatus) {
+        final var status = (DataSourceTransactionStatus) transactionStatus;
+        assertNotCompleted(status);
+        if (status.isRollbackOnly()) {
+            rollback(status);
+            if (!status.isNewTransaction() && !status.hasSavepoint()) {
+                throw new TransactionException("Transaction rolled back because it has been marked as rollback-only");
+            }
+            return;
+        }
+        if (status.isNewTransaction() && TransactionSynchronizationManager.isRollbackOnly(status.getConnection())) {
+            rollback(status);
+            throw new UnexpectedRollbackException(
+                    "Transaction rolled back because a participating scope marked it as rollback-only");
+        }
+        boolean committed = false;
+        try {
+            if (status.hasSavepoint()) {
+                releaseSavepoint(status);
+            } else if (status.isNewTransaction() && status.isLocalTransaction()) {
+                status.getConnection().commit();
+            }
+            committed = true;
+        } catch (SQLException e) {
+            rollbackAfterFailedCommit(status, e);
+            throw new TransactionException("Could not commit JDBC transaction", e);
+        } finally {
+            if (!status.isCompleted()) {
+                complete(status, committed);
+            }
+        }
+    }
+
+    @Override
+    public void rollback(TransactionStatus transactionStatus) {
+        final var status = (DataSourceTransactionStatus) transactionStatus;
+        assertNotCompleted(status);
+        try {
+            if (status.hasSavepoint()) {
+                status.getConnection().rollback(status.getSavepoint());
+                releaseSavepoint(status);
+                restoreRollbackOnly(status);
+            } else if (status.isNewTransaction()) {
+                if (status.isLocalTransaction()) {
+                    status.getConnection().rollback();
+                }
+            } else {
+                // 참여한 트랜잭션은 물리 트랜잭션을 직접 롤백할 수 없으므로, 시작한 쪽이 커밋하지 못하게 표시한다.
+                TransactionSynchronizationManager.setRollbackOnly(status.getConnection());
+            }
+        } catch (SQLException e) {
+            throw new TransactionException("Could not roll back JDBC transaction", e);
+        } finally {
+            complete(status, false);
+        }
+    }
+
+    private void restoreRollbackOnly(DataSourceTransactionStatus status) {
+        if (status.isRollbackOnlyBeforeSavepoint()) {
+            TransactionSynchronizationManager.setRollbackOnly(status.getConnection());
+        } else {
+            TransactionSynchronizationManager.resetRollbackOnly(status.getConnection());
+        }
+    }
+
+    private void rollbackAfterFailedCommit(DataSourceTransactionStatus status, SQLException commitEx) {
+        if (!status.isNewTransaction() || !status.isLocalTransaction()) {
+            return;
+        }
+        try {
+            status.getConnection().rollback();
+        } catch (SQLException rollbackEx) {
+            commitEx.addSuppressed(rollbackEx);
+        }
+    }
+
+    private void releaseSavepoint(DataSourceTransactionStatus status) {
+        try {
+            status.getConnection().releaseSavepoint(status.getSavepoint());
+        } catch (SQLException e) {
+            log.debug("Could not explicitly release JDBC savepoint", e);
+        }
+    }
+
+    private void assertNotCompleted(DataSourceTransactionStatus status) {
+        if (status.isCompleted()) {
+            throw new TransactionException("Transaction is already completed");
+        }
+    }
+
+    private void complete(DataSourceTransactionStatus status, boolean committed) {
+        status.setCompleted();
+        if (status.isNewTransaction()) {
+            TransactionSynchronizationManager.triggerAfterCompletion(status.getConnection(), committed);
+            cleanupAfterCompletion(status, true);
+        }
+    }
+
+    private void cleanupAfterCompletion(DataSourceTransactionStatus status, boolean bound) {
+        final var connection = status.getConnection();
+        if (bound) {
+            resourceContext.unbindResource(dataSource);
+        }
+        try {
+            if (status.isMustRestoreAutoCommit()) {
+                connection.setAutoCommit(true);
+            }
+            if (status.isMustRestoreReadOnly()) {
+                connection.setReadOnly(false);
+            }
+        } catch (SQLException e) {
+            log.debug("Could not reset JDBC Connection after transaction", e);
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Could not close JDBC Connection after transaction", e);
+        }
+        resume(status.getSuspendedConnection(), status.getSuspendedState());
+    }
+
+    private void resume(Connection suspended, TransactionState suspendedState) {
+        if (suspended != null) {
+            resourceContext.bindResource(dataSource, suspended);
+            TransactionSynchronizationManager.resumeSynchronizations(suspended, suspendedState);
+        }
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+}
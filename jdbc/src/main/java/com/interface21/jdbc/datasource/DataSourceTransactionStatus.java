@@ -0,0 +1,114 @@
+package com.interface21.jdbc.datasource;
+
+import com.interface21.transaction.TransactionStatus;
+import com.interface21.transaction.support.TransactionSynchronizationManager.TransactionState;
+import java.sql.Connection;
+import java.sql.Savepoint;
+
+class DataSourceTransactionStatus implements TransactionStatus {
+
+    private final Connection connection;
+    private final boolean newTransaction;
+    private final boolean readOnly;
+    private final Savepoint savepoint;
+    private final Connection suspendedConnection;
+    private final TransactionState suspendedState;
+    private boolean localTransaction = true;
+    private boolean mustRestoreAutoCommit;
+    private boolean mustRestoreReadOnly;
+    private boolean rollbackOnly;
+    private boolean rollbackOnlyBeforeSavepoint;
+    private boolean completed;
+
+    DataSourceTransactionStatus(Connection connection, boolean newTransaction, boolean readOnly,
+                                Savepoint savepoint, Connection suspendedConnection, TransactionState suspendedState) {
+        this.connection = connection;
+        this.newTransaction = newTransaction;
+        this.readOnly = readOnly;
+        this.savepoint = savepoint;
+        this.suspendedConnection = suspendedConnection;
+        this.suspendedState = suspendedState;
+    }
+
+    Connection getConnection() {
+        return connection;
+    }
+
+    Savepoint getSavepoint() {
+        return savepoint;
+    }
+
+    Connection getSuspendedConnection() {
+        return suspendedConnection;
+    }
+
+    TransactionState getSuspendedState() {
+        return suspendedState;
+    }
+
+    void setLocalTransaction(boolean localTransaction) {
+        this.localTransaction = localTransaction;
+    }
+
+    boolean isLocalTransaction() {
+        return localTransaction;
+    }
+
+    void setMustRestoreAutoCommit(boolean mustRestoreAutoCommit) {
+        this.mustRestoreAutoCommit = mustRestoreAutoCommit;
+    }
+
+    boolean isMustRestoreAutoCommit() {
+        return mustRestoreAutoCommit;
+    }
+
+    void setMustRestoreReadOnly(boolean mustRestoreReadOnly) {
+        this.mustRestoreReadOnly = mustRestoreReadOnly;
+    }
+
+    boolean isMustRestoreReadOnly() {
+        return mustRestoreReadOnly;
+    }
+
+    void setRollbackOnlyBeforeSavepoint(boolean rollbackOnlyBeforeSavepoint) {
+        this.rollbackOnlyBeforeSavepoint = rollbackOnlyBeforeSavepoint;
+    }
+
+    boolean isRollbackOnlyBeforeSavepoint() {
+        return rollbackOnlyBeforeSavepoint;
+    }
+
+    void setCompleted() {
+        this.completed = true;
+    }
+
+    @Override
+    public boolean isNewTransaction() {
+        return newTransaction;
+    }
+
+    @Override
+    public boolean hasSavepoint() {
+        return savepoint != null;
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    @Override
+    public void setRollbackOnly() {
+        this.rollbackOnly = true;
+    }
+
+    @Override
+    public boolean isRollbackOnly() {
+        return rollbackOnly;
+    }
+
+    @Override
+    public boolean isCompleted() {
+        return completed;
+    }
+}
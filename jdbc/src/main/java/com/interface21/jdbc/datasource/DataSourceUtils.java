@@ -1,37 +1,76 @@
 package com.interface21.jdbc.datasource;
 
 import com.interface21.jdbc.CannotGetJdbcConnectionException;
-import com.interface21.transaction.support.TransactionSynchronizationManager;
+import com.interface21.transaction.support.TransactionResourceContext;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
 
-// 4단계 미션에서 사용할 것
 public abstract class DataSourceUtils {
 
     private DataSourceUtils() {}
 
     public static Connection getConnection(DataSource dataSource) throws CannotGetJdbcConnectionException {
-        Connection connection = TransactionSynchronizationManager.getResource(dataSource);
+        return getConnection(dataSource, TransactionResourceContext.THREAD_LOCAL);
+    }
+
+    public static Connection getConnection(DataSource dataSource, TransactionResourceContext context)
+            throws CannotGetJdbcConnectionException {
+        return getConnection(dataSource, context, false);
+    }
+
+    public static Connection getConnection(DataSource dataSource, TransactionResourceContext context, boolean readOnly)
+            throws CannotGetJdbcConnectionException {
+        Connection connection = context.getResource(dataSource);
         if (connection != null) {
             return connection;
         }
 
         try {
-            connection = dataSource.getConnection();
-            TransactionSynchronizationManager.bindResource(dataSource, connection);
-            return connection;
+            return doGetConnection(dataSource, readOnly);
         } catch (SQLException ex) {
             throw new CannotGetJdbcConnectionException("Failed to obtain JDBC Connection", ex);
         }
     }
 
+    // 읽기 전용 요청이고 DataSource가 읽기/쓰기 라우팅을 지원하면 replica 커넥션을 얻는다.
+    public static Connection doGetConnection(DataSource dataSource, boolean readOnly) throws SQLException {
+        if (readOnly && dataSource.isWrapperFor(ReadWriteRoutingDataSource.class)) {
+            return dataSource.unwrap(ReadWriteRoutingDataSource.class).getReadOnlyConnection();
+        }
+        return dataSource.getConnection();
+    }
+
     public static void releaseConnection(Connection connection, DataSource dataSource) {
+        releaseConnection(connection, dataSource, TransactionResourceContext.THREAD_LOCAL);
+    }
+
+    public static void releaseConnection(Connection connection, DataSource dataSource, TransactionResourceContext context) {
+        releaseConnection(connection, connection != null && isConnectionTransactional(connection, dataSource, context));
+    }
+
+    /**
+     * 얻은 스레드와 다른 스레드에서 반납할 때 쓴다. 반납하는 스레드의 컨텍스트에는 트랜잭션이 보이지 않으므로,
+     * 얻을 때 확인한 트랜잭션 참여 여부로 닫을지 정한다.
+     */
+    public static void releaseConnection(Connection connection, boolean transactional) {
+        if (connection == null || transactional) {
+            return;
+        }
         try {
             connection.close();
         } catch (SQLException ex) {
-            throw new CannotGetJdbcConnectionException("Failed to close JDBC Connection");
+            throw new CannotGetJdbcConnectionException("Failed to close JDBC Connection", ex);
         }
     }
+
+    public static boolean isConnectionTransactional(Connection connection, DataSource dataSource) {
+        return isConnectionTransactional(connection, dataSource, TransactionResourceContext.THREAD_LOCAL);
+    }
+
+    public static boolean isConnectionTransactional(Connection connection, DataSource dataSource,
+                                                    TransactionResourceContext context) {
+        return context.getResource(dataSource) == connection;
+    }
 }
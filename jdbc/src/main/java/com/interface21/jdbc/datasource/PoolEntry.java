@@ -0,0 +1,100 @@
+package com.interface21.jdbc.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class PoolEntry {
+
+    static final int STATE_REMOVED = -1;
+    static final int STATE_NOT_IN_USE = 0;
+    static final int STATE_IN_USE = 1;
+
+    private final Connection connection;
+    private final AtomicInteger state;
+    private final long createdAt;
+    private final boolean defaultAutoCommit;
+    private final boolean defaultReadOnly;
+
+    private volatile long lastAccessed;
+    private volatile long borrowedAt;
+    private volatile Exception borrowSite;
+    private volatile boolean leakReported;
+
+    PoolEntry(Connection connection, int initialState) throws SQLException {
+        this.connection = connection;
+        this.state = new AtomicInteger(initialState);
+        this.createdAt = System.currentTimeMillis();
+        this.lastAccessed = createdAt;
+        this.defaultAutoCommit = connection.getAutoCommit();
+        this.defaultReadOnly = connection.isReadOnly();
+    }
+
+    boolean tryReserve() {
+        return state.compareAndSet(STATE_NOT_IN_USE, STATE_IN_USE);
+    }
+
+    void release() {
+        lastAccessed = System.currentTimeMillis();
+        borrowSite = null;
+        state.set(STATE_NOT_IN_USE);
+    }
+
+    boolean markRemoved() {
+        return state.getAndSet(STATE_REMOVED) != STATE_REMOVED;
+    }
+
+    int getState() {
+        return state.get();
+    }
+
+    void onBorrow(boolean trackLeaks) {
+        borrowedAt = System.currentTimeMillis();
+        leakReported = false;
+        borrowSite = trackLeaks ? new Exception("Connection borrowed here") : null;
+    }
+
+    boolean isExpired(long maxLifetime, long now) {
+        return maxLifetime > 0 && now - createdAt > maxLifetime;
+    }
+
+    boolean isIdleLongerThan(long idleTimeout, long now) {
+        return idleTimeout > 0 && now - lastAccessed > idleTimeout;
+    }
+
+    boolean reportLeakIfBorrowedLongerThan(long threshold, long now) {
+        if (threshold <= 0 || leakReported || now - borrowedAt <= threshold) {
+            return false;
+        }
+        leakReported = true;
+        return true;
+    }
+
+    Connection getConnection() {
+        return connection;
+    }
+
+    long getBorrowedAt() {
+        return borrowedAt;
+    }
+
+    Exception getBorrowSite() {
+        return borrowSite;
+    }
+
+    boolean getDefaultAutoCommit() {
+        return defaultAutoCommit;
+    }
+
+    boolean getDefaultReadOnly() {
+        return defaultReadOnly;
+    }
+
+    @Override
+    public String toString() {
+        return "PoolEntry{" +
+                "connection=" + connection +
+                ", state=" + state.get() +
+                '}';
+    }
+}
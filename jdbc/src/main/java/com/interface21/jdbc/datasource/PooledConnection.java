@@ -0,0 +1,102 @@
+package com.interface21.jdbc.datasource;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+class PooledConnection implements InvocationHandler {
+
+    private final PooledDataSource pool;
+    private final PoolEntry entry;
+    private final Connection target;
+    private boolean autoCommit;
+    private boolean readOnly;
+    private boolean closed;
+
+    PooledConnection(PooledDataSource pool, PoolEntry entry) {
+        this.pool = pool;
+        this.entry = entry;
+        this.target = entry.getConnection();
+        this.autoCommit = entry.getDefaultAutoCommit();
+        this.readOnly = entry.getDefaultReadOnly();
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "close":
+                close();
+                return null;
+            case "isClosed":
+                return closed;
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "PooledConnection[" + target + "]";
+            default:
+                break;
+        }
+        if (closed) {
+            throw new SQLException("Connection is closed");
+        }
+        // autoCommit/readOnly는 알고 있는 상태와 다를 때만 드라이버에 전달한다.
+        switch (method.getName()) {
+            case "getAutoCommit":
+                return autoCommit;
+            case "isReadOnly":
+                return readOnly;
+            case "setAutoCommit":
+                if (autoCommit != (boolean) args[0]) {
+                    target.setAutoCommit((boolean) args[0]);
+                    autoCommit = (boolean) args[0];
+                }
+                return null;
+            case "setReadOnly":
+                if (readOnly != (boolean) args[0]) {
+                    target.setReadOnly((boolean) args[0]);
+                    readOnly = (boolean) args[0];
+                }
+                return null;
+            default:
+                return invokeTarget(method, args);
+        }
+    }
+
+    private Object invokeTarget(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            resetState();
+        } catch (SQLException e) {
+            pool.evict(entry);
+            return;
+        }
+        pool.requite(entry);
+    }
+
+    private void resetState() throws SQLException {
+        if (!autoCommit) {
+            target.rollback();
+        }
+        if (autoCommit != entry.getDefaultAutoCommit()) {
+            target.setAutoCommit(entry.getDefaultAutoCommit());
+        }
+        if (readOnly != entry.getDefaultReadOnly()) {
+            target.setReadOnly(entry.getDefaultReadOnly());
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package com.interface21.jdbc.datasource;
+
+import java.io.PrintWriter;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class PooledDataSource implements DataSource, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(PooledDataSource.class);
+
+    private static final long DEFAULT_CONNECTION_TIMEOUT = TimeUnit.SECONDS.toMillis(30);
+    private static final long DEFAULT_IDLE_TIMEOUT = TimeUnit.MINUTES.toMillis(10);
+    private static final long DEFAULT_MAX_LIFETIME = TimeUnit.MINUTES.toMillis(30);
+    private static final long HOUSEKEEPING_PERIOD = TimeUnit.SECONDS.toMillis(30);
+
+    private final DataSource targetDataSource;
+    private final int maximumPoolSize;
+
+    private volatile long connectionTimeout = DEFAULT_CONNECTION_TIMEOUT;
+    private volatile long idleTimeout = DEFAULT_IDLE_TIMEOUT;
+    private volatile long maxLifetime = DEFAULT_MAX_LIFETIME;
+    private volatile long leakDetectionThreshold = 0;
+
+    private final CopyOnWriteArrayList<PoolEntry> entries = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<PoolEntry> lastUsed = new ThreadLocal<>();
+    private final SynchronousQueue<PoolEntry> handoffQueue = new SynchronousQueue<>(true);
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final AtomicInteger waiters = new AtomicInteger();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+
+    public PooledDataSource(final DataSource targetDataSource, final int maximumPoolSize) {
+        if (maximumPoolSize <= 0) {
+            throw new IllegalArgumentException("maximumPoolSize must be positive: " + maximumPoolSize);
+        }
+        this.targetDataSource = targetDataSource;
+        this.maximumPoolSize = maximumPoolSize;
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jdbc-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.housekeeper.scheduleWithFixedDelay(this::housekeep,
+                HOUSEKEEPING_PERIOD, HOUSEKEEPING_PERIOD, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Pool is closed");
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(connectionTimeout);
+        PoolEntry entry = borrow(deadline);
+        entry.onBorrow(leakDetectionThreshold > 0);
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new PooledConnection(this, entry));
+    }
+
+    private PoolEntry borrow(long deadline) throws SQLException {
+        PoolEntry cached = lastUsed.get();
+        if (cached != null && cached.tryReserve()) {
+            if (isAlive(cached)) {
+                return cached;
+            }
+        }
+
+        PoolEntry entry = reserveIdleOrCreate();
+        if (entry != null) {
+            return entry;
+        }
+
+        waiters.incrementAndGet();
+        try {
+            long remaining;
+            while ((remaining = deadline - System.nanoTime()) > 0) {
+                PoolEntry handedOff = handoffQueue.poll(remaining, TimeUnit.NANOSECONDS);
+                if (handedOff != null && handedOff.tryReserve() && isAlive(handedOff)) {
+                    return handedOff;
+                }
+                entry = reserveIdleOrCreate();
+                if (entry != null) {
+                    return entry;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", e);
+        } finally {
+            waiters.decrementAndGet();
+        }
+        throw new SQLTransientConnectionException("Connection is not available, request timed out after "
+                + connectionTimeout + "ms (total=" + totalConnections.get() + ", max=" + maximumPoolSize + ")");
+    }
+
+    private PoolEntry reserveIdleOrCreate() throws SQLException {
+        for (PoolEntry entry : entries) {
+            if (entry.tryReserve() && isAlive(entry)) {
+                return entry;
+            }
+        }
+        return tryCreate();
+    }
+
+    private boolean isAlive(PoolEntry entry) {
+        if (entry.isExpired(maxLifetime, System.currentTimeMillis())) {
+            evict(entry);
+            return false;
+        }
+        return true;
+    }
+
+    private PoolEntry tryCreate() throws SQLException {
+        int total;
+        do {
+            total = totalConnections.get();
+            if (total >= maximumPoolSize || closed) {
+                return null;
+            }
+        } while (!totalConnections.compareAndSet(total, total + 1));
+
+        try {
+            PoolEntry entry = new PoolEntry(targetDataSource.getConnection(), PoolEntry.STATE_IN_USE);
+            entries.add(entry);
+            log.debug("Added connection {} (total={})", entry, total + 1);
+            return entry;
+        } catch (SQLException | RuntimeException e) {
+            totalConnections.decrementAndGet();
+            throw e;
+        }
+    }
+
+    void requite(PoolEntry entry) {
+        if (closed || entry.isExpired(maxLifetime, System.currentTimeMillis())) {
+            evict(entry);
+            return;
+        }
+        entry.release();
+        lastUsed.set(entry);
+        for (int i = 0; waiters.get() > 0; i++) {
+            if (entry.getState() != PoolEntry.STATE_NOT_IN_USE || handoffQueue.offer(entry)) {
+                return;
+            }
+            if ((i & 0xff) == 0xff) {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(10));
+            } else {
+                Thread.yield();
+            }
+        }
+    }
+
+    void evict(PoolEntry entry) {
+        if (!entry.markRemoved()) {
+            return;
+        }
+        entries.remove(entry);
+        totalConnections.decrementAndGet();
+        try {
+            entry.getConnection().close();
+        } catch (SQLException e) {
+            log.warn("Failed to close evicted connection {}", entry, e);
+        }
+        log.debug("Evicted connection {} (total={})", entry, totalConnections.get());
+        refillForWaiters();
+    }
+
+    private void refillForWaiters() {
+        if (waiters.get() == 0 || closed) {
+            return;
+        }
+        try {
+            PoolEntry entry = tryCreate();
+            if (entry != null) {
+                requite(entry);
+            }
+        } catch (SQLException e) {
+            log.warn("Failed to replace evicted connection", e);
+        }
+    }
+
+    private void housekeep() {
+        long now = System.currentTimeMillis();
+        for (PoolEntry entry : entries) {
+            int state = entry.getState();
+            if (state == PoolEntry.STATE_NOT_IN_USE) {
+                if ((entry.isIdleLongerThan(idleTimeout, now) || entry.isExpired(maxLifetime, now))
+                        && entry.tryReserve()) {
+                    evict(entry);
+                }
+            } else if (state == PoolEntry.STATE_IN_USE
+                    && entry.reportLeakIfBorrowedLongerThan(leakDetectionThreshold, now)) {
+                log.warn("Connection leak detection triggered for {}, borrowed {}ms ago",
+                        entry, now - entry.getBorrowedAt(), entry.getBorrowSite());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        housekeeper.shutdownNow();
+        for (PoolEntry entry : entries) {
+            if (entry.tryReserve()) {
+                evict(entry);
+            }
+        }
+    }
+
+    public void setConnectionTimeout(long connectionTimeoutMs) {
+        this.connectionTimeout = connectionTimeoutMs;
+    }
+
+    public void setIdleTimeout(long idleTimeoutMs) {
+        this.idleTimeout = idleTimeoutMs;
+    }
+
+    public void setMaxLifetime(long maxLifetimeMs) {
+        this.maxLifetime = maxLifetimeMs;
+    }
+
+    public void setLeakDetectionThreshold(long leakDetectionThresholdMs) {
+        this.leakDetectionThreshold = leakDetectionThresholdMs;
+    }
+
+    public int getMaximumPoolSize() {
+        return maximumPoolSize;
+    }
+
+    public int getTotalConnections() {
+        return totalConnections.get();
+    }
+
+    public int getIdleConnections() {
+        int idle = 0;
+        for (PoolEntry entry : entries) {
+            if (entry.getState() == PoolEntry.STATE_NOT_IN_USE) {
+                idle++;
+            }
+        }
+        return idle;
+    }
+
+    public int getActiveConnections() {
+        return getTotalConnections() - getIdleConnections();
+    }
+
+    public int getThreadsAwaitingConnection() {
+        return waiters.get();
+    }
+
+    public DataSource getTargetDataSource() {
+        return targetDataSource;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("PooledDataSource does not support per-call credentials");
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return targetDataSource.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        targetDataSource.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        targetDataSource.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return targetDataSource.getLoginTimeout();
+    }
+
+    @Override
+    public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return targetDataSource.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        return targetDataSource.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || targetDataSource.isWrapperFor(iface);
+    }
+}
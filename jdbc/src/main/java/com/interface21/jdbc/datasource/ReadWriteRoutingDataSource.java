@@ -0,0 +1,243 @@
+package com.interface21.jdbc.datasource;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 쓰기는 primary로, 읽기 전용 요청은 replica 중 사용 중인 커넥션이 가장 적은 곳으로 보낸다.
+ * getConnection()은 항상 primary를 돌려주고, 읽기 전용 요청은 {@link DataSourceUtils#doGetConnection(DataSource, boolean)}을
+ * 거쳐 {@link #getReadOnlyConnection()}으로 들어온다.
+ * 커넥션을 얻지 못한 replica는 ejectDuration 동안 후보에서 제외하고, 모든 replica가 제외되면 primary에서 읽는다.
+ */
+public class ReadWriteRoutingDataSource implements DataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    private static final Duration DEFAULT_EJECT_DURATION = Duration.ofSeconds(30);
+
+    private final DataSource primary;
+    private final Replica[] replicas;
+    private final AtomicInteger nextStart = new AtomicInteger();
+    private long ejectNanos = DEFAULT_EJECT_DURATION.toNanos();
+
+    public ReadWriteRoutingDataSource(final DataSource primary, final List<DataSource> replicas) {
+        this.primary = primary;
+        this.replicas = new Replica[replicas.size()];
+        for (int i = 0; i < this.replicas.length; i++) {
+            this.replicas[i] = new Replica(replicas.get(i), i);
+        }
+    }
+
+    public void setEjectDuration(Duration ejectDuration) {
+        this.ejectNanos = ejectDuration.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    public Connection getReadOnlyConnection() throws SQLException {
+        SQLException failure = null;
+        for (int attempt = 0; attempt < replicas.length; attempt++) {
+            Replica replica = selectReplica();
+            if (replica == null) {
+                break;
+            }
+            try {
+                return replica.borrow();
+            } catch (SQLException e) {
+                replica.eject(System.nanoTime() + ejectNanos);
+                log.warn("Replica {} ejected after connection failure", replica.index, e);
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (replicas.length > 0) {
+            log.debug("No replica available, reading from primary", failure);
+        }
+        return primary.getConnection();
+    }
+
+    // 시작 위치를 돌려 가며 탐색해 in-flight 수가 같은 replica끼리 요청이 고르게 나뉘게 한다.
+    private Replica selectReplica() {
+        long now = System.nanoTime();
+        int start = Math.floorMod(nextStart.getAndIncrement(), Math.max(replicas.length, 1));
+        Replica best = null;
+        for (int i = 0; i < replicas.length; i++) {
+            Replica candidate = replicas[(start + i) % replicas.length];
+            if (candidate.isEjected(now)) {
+                continue;
+            }
+            if (best == null || candidate.inFlight.get() < best.inFlight.get()) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public int[] getReplicaInFlight() {
+        int[] inFlight = new int[replicas.length];
+        for (int i = 0; i < replicas.length; i++) {
+            inFlight[i] = replicas[i].inFlight.get();
+        }
+        return inFlight;
+    }
+
+    public int getAvailableReplicaCount() {
+        long now = System.nanoTime();
+        int available = 0;
+        for (Replica replica : replicas) {
+            if (!replica.isEjected(now)) {
+                available++;
+            }
+        }
+        return available;
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return primary.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        primary.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        primary.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return primary.getLoginTimeout();
+    }
+
+    @Override
+    public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return primary.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        return primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+
+    private static final class Replica {
+
+        private final DataSource dataSource;
+        private final int index;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile long ejectedUntil;
+        private volatile boolean ejected;
+
+        private Replica(DataSource dataSource, int index) {
+            this.dataSource = dataSource;
+            this.index = index;
+        }
+
+        private boolean isEjected(long now) {
+            if (!ejected) {
+                return false;
+            }
+            if (now - ejectedUntil >= 0) {
+                ejected = false;
+                return false;
+            }
+            return true;
+        }
+
+        private void eject(long until) {
+            ejectedUntil = until;
+            ejected = true;
+        }
+
+        private Connection borrow() throws SQLException {
+            inFlight.incrementAndGet();
+            try {
+                Connection target = dataSource.getConnection();
+                return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                        new Class<?>[]{Connection.class}, new InFlightTracker(target, inFlight));
+            } catch (SQLException | RuntimeException e) {
+                inFlight.decrementAndGet();
+                throw e;
+            }
+        }
+    }
+
+    private static final class InFlightTracker implements InvocationHandler {
+
+        private final Connection target;
+        private final AtomicInteger inFlight;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private InFlightTracker(Connection target, AtomicInteger inFlight) {
+            this.target = target;
+            this.inFlight = inFlight;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    if (closed.compareAndSet(false, true)) {
+                        inFlight.decrementAndGet();
+                        target.close();
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    return closed.get() || target.isClosed();
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                default -> {
+                    try {
+                        return method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                }
+            }
+        }
+    }
+}
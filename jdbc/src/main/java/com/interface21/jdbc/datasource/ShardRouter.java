@@ -0,0 +1,109 @@
+package com.interface21.jdbc.datasource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+
+/**
+ * 샤드 키를 consistent hash ring 위에 올려 담당 DataSource를 찾는다.
+ * 샤드마다 virtualNodes개의 점을 ring에 배치하므로, 샤드를 추가하거나 제거해도 약 1/N의 키만 다른 샤드로 옮겨 간다.
+ * ring은 변경할 때마다 정렬된 배열로 새로 만들고, 조회는 잠금 없이 이진 탐색한다.
+ */
+public class ShardRouter {
+
+    private static final int DEFAULT_VIRTUAL_NODES = 160;
+
+    private final int virtualNodes;
+    private final Map<String, DataSource> shards = new LinkedHashMap<>();
+    private volatile Ring ring = new Ring(new long[0], new DataSource[0]);
+
+    public ShardRouter() {
+        this(DEFAULT_VIRTUAL_NODES);
+    }
+
+    public ShardRouter(final int virtualNodes) {
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("virtualNodes must be positive: " + virtualNodes);
+        }
+        this.virtualNodes = virtualNodes;
+    }
+
+    public synchronized ShardRouter addShard(String name, DataSource dataSource) {
+        if (shards.putIfAbsent(name, dataSource) != null) {
+            throw new IllegalStateException("Shard [" + name + "] is already registered");
+        }
+        rebuild();
+        return this;
+    }
+
+    public synchronized DataSource removeShard(String name) {
+        DataSource removed = shards.remove(name);
+        if (removed == null) {
+            throw new IllegalStateException("No shard named [" + name + "]");
+        }
+        rebuild();
+        return removed;
+    }
+
+    public DataSource shardFor(Object shardKey) {
+        Ring current = ring;
+        if (current.points.length == 0) {
+            throw new IllegalStateException("No shards registered");
+        }
+        long hash = hash(String.valueOf(shardKey));
+        int index = Arrays.binarySearch(current.points, hash);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        if (index == current.points.length) {
+            index = 0;
+        }
+        return current.owners[index];
+    }
+
+    public synchronized List<DataSource> getShards() {
+        return List.copyOf(shards.values());
+    }
+
+    private void rebuild() {
+        int size = shards.size() * virtualNodes;
+        long[] points = new long[size];
+        DataSource[] owners = new DataSource[size];
+        long[][] entries = new long[size][];
+        DataSource[] byIndex = shards.values().toArray(DataSource[]::new);
+        String[] names = shards.keySet().toArray(String[]::new);
+        int n = 0;
+        for (int shard = 0; shard < names.length; shard++) {
+            for (int replica = 0; replica < virtualNodes; replica++) {
+                entries[n++] = new long[]{hash(names[shard] + "#" + replica), shard};
+            }
+        }
+        Arrays.sort(entries, (left, right) -> Long.compare(left[0], right[0]));
+        for (int i = 0; i < size; i++) {
+            points[i] = entries[i][0];
+            owners[i] = byIndex[(int) entries[i][1]];
+        }
+        ring = new Ring(points, owners);
+    }
+
+    // FNV-1a 64비트 해시 뒤에 murmur3의 finalizer를 적용해 비슷한 키도 ring 전체에 고르게 퍼지게 한다.
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private record Ring(long[] points, DataSource[] owners) {
+    }
+}
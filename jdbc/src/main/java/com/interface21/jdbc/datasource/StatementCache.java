@@ -0,0 +1,210 @@
+package com.interface21.jdbc.datasource;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+class StatementCache implements InvocationHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementCache.class);
+
+    private static final Set<String> SETTING_CHANGES = Set.of("setFetchSize", "setFetchDirection", "setMaxRows",
+            "setLargeMaxRows", "setMaxFieldSize", "setQueryTimeout");
+
+    private final Connection target;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LinkedHashMap<StatementKey, PreparedStatement> idleStatements;
+    private Connection proxy;
+    private boolean closed;
+
+    StatementCache(Connection target, int cacheSize, LongAdder hits, LongAdder misses) {
+        this.target = target;
+        this.hits = hits;
+        this.misses = misses;
+        this.idleStatements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<StatementKey, PreparedStatement> eldest) {
+                if (size() > cacheSize) {
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    void setProxy(Connection proxy) {
+        this.proxy = proxy;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "prepareStatement":
+                if (isCacheable(method)) {
+                    int autoGeneratedKeys = args.length == 2 ? (int) args[1] : Statement.NO_GENERATED_KEYS;
+                    return borrow(new StatementKey((String) args[0], autoGeneratedKeys));
+                }
+                break;
+            case "close":
+                close();
+                return null;
+            case "isClosed":
+                return closed || target.isClosed();
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "StatementCache[" + target + "]";
+            default:
+                break;
+        }
+        return invokeTarget(target, method, args);
+    }
+
+    private boolean isCacheable(Method method) {
+        Class<?>[] types = method.getParameterTypes();
+        return types.length == 1 || (types.length == 2 && types[1] == int.class);
+    }
+
+    private synchronized PreparedStatement borrow(StatementKey key) throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection is closed");
+        }
+        PreparedStatement statement = idleStatements.remove(key);
+        if (statement != null && !statement.isClosed()) {
+            hits.increment();
+        } else {
+            misses.increment();
+            statement = key.autoGeneratedKeys() == Statement.NO_GENERATED_KEYS
+                    ? target.prepareStatement(key.sql())
+                    : target.prepareStatement(key.sql(), key.autoGeneratedKeys());
+        }
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, new CachedStatement(key, statement));
+    }
+
+    private synchronized void release(StatementKey key, PreparedStatement statement, StatementSettings original) {
+        if (closed || idleStatements.containsKey(key)) {
+            closeQuietly(statement);
+            return;
+        }
+        try {
+            statement.clearParameters();
+            statement.clearBatch();
+            if (original != null) {
+                original.restore(statement);
+            }
+            idleStatements.put(key, statement);
+        } catch (SQLException e) {
+            closeQuietly(statement);
+        }
+    }
+
+    private void close() throws SQLException {
+        List<PreparedStatement> statements;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            statements = new ArrayList<>(idleStatements.values());
+            idleStatements.clear();
+        }
+        statements.forEach(StatementCache::closeQuietly);
+        target.close();
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            log.warn("Failed to close cached statement", e);
+        }
+    }
+
+    private record StatementKey(String sql, int autoGeneratedKeys) {
+    }
+
+    private record StatementSettings(int fetchSize, int fetchDirection, int maxRows, int maxFieldSize, int queryTimeout) {
+
+        private static StatementSettings of(PreparedStatement statement) throws SQLException {
+            return new StatementSettings(statement.getFetchSize(), statement.getFetchDirection(), statement.getMaxRows(),
+                    statement.getMaxFieldSize(), statement.getQueryTimeout());
+        }
+
+        private void restore(PreparedStatement statement) throws SQLException {
+            statement.setFetchSize(fetchSize);
+            statement.setFetchDirection(fetchDirection);
+            statement.setMaxRows(maxRows);
+            statement.setMaxFieldSize(maxFieldSize);
+            statement.setQueryTimeout(queryTimeout);
+        }
+    }
+
+    private class CachedStatement implements InvocationHandler {
+
+        private final StatementKey key;
+        private final PreparedStatement target;
+        private StatementSettings original;
+        private boolean closed;
+
+        private CachedStatement(StatementKey key, PreparedStatement target) {
+            this.key = key;
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        release(key, target, original);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || target.isClosed();
+                case "getConnection":
+                    return StatementCache.this.proxy;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException("Statement is closed");
+            }
+            // 다음에 같은 SQL을 빌려 가는 쪽이 바뀐 설정을 물려받지 않도록, 처음 바꾸기 전 값을 기억했다가 반납할 때 되돌린다.
+            if (original == null && SETTING_CHANGES.contains(method.getName())) {
+                original = StatementSettings.of(target);
+            }
+            return invokeTarget(target, method, args);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.interface21.jdbc.datasource;
+
+import java.io.PrintWriter;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+import javax.sql.DataSource;
+
+public class StatementCachingDataSource implements DataSource {
+
+    private static final int DEFAULT_CACHE_SIZE = 64;
+
+    private final DataSource targetDataSource;
+    private final int cacheSize;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public StatementCachingDataSource(final DataSource targetDataSource) {
+        this(targetDataSource, DEFAULT_CACHE_SIZE);
+    }
+
+    public StatementCachingDataSource(final DataSource targetDataSource, final int cacheSize) {
+        if (cacheSize <= 0) {
+            throw new IllegalArgumentException("cacheSize must be positive: " + cacheSize);
+        }
+        this.targetDataSource = targetDataSource;
+        this.cacheSize = cacheSize;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(targetDataSource.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(targetDataSource.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        final var cache = new StatementCache(connection, cacheSize, hits, misses);
+        final var proxy = (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, cache);
+        cache.setProxy(proxy);
+        return proxy;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public DataSource getTargetDataSource() {
+        return targetDataSource;
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return targetDataSource.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        targetDataSource.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        targetDataSource.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return targetDataSource.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return targetDataSource.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        return targetDataSource.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || targetDataSource.isWrapperFor(iface);
+    }
+}
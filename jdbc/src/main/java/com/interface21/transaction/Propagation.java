@@ -0,0 +1,7 @@
+package com.interface21.transaction;
+
+public enum Propagation {
+    REQUIRED,
+    REQUIRES_NEW,
+    NESTED
+}
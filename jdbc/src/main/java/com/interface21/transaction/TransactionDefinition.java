@@ -0,0 +1,17 @@
+package com.interface21.transaction;
+
+public record TransactionDefinition(Propagation propagation, boolean readOnly) {
+
+    public static final TransactionDefinition DEFAULT = new TransactionDefinition(Propagation.REQUIRED, false);
+    public static final TransactionDefinition READ_ONLY = new TransactionDefinition(Propagation.REQUIRED, true);
+
+    public TransactionDefinition {
+        if (propagation == null) {
+            throw new IllegalArgumentException("propagation must not be null");
+        }
+    }
+
+    public static TransactionDefinition of(Propagation propagation) {
+        return new TransactionDefinition(propagation, false);
+    }
+}
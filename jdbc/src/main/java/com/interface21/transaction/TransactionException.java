@@ -0,0 +1,16 @@
+package com.interface21.transaction;
+
+import com.interface21.dao.DataAccessException;
+
+public class TransactionException extends DataAccessException {
+
+    private static final long serialVersionUID = 1L;
+
+    public TransactionException(String message) {
+        super(message);
+    }
+
+    public TransactionException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,16 @@
+package com.interface21.transaction;
+
+public interface TransactionStatus {
+
+    boolean isNewTransaction();
+
+    boolean hasSavepoint();
+
+    boolean isReadOnly();
+
+    void setRollbackOnly();
+
+    boolean isRollbackOnly();
+
+    boolean isCompleted();
+}
@@ -0,0 +1,10 @@
+package com.interface21.transaction;
+
+public class UnexpectedRollbackException extends TransactionException {
+
+    private static final long serialVersionUID = 1L;
+
+    public UnexpectedRollbackException(String message) {
+        super(message);
+    }
+}
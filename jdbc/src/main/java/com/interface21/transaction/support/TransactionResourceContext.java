@@ -0,0 +1,30 @@
+package com.interface21.transaction.support;
+
+import java.sql.Connection;
+import javax.sql.DataSource;
+
+public interface TransactionResourceContext {
+
+    TransactionResourceContext THREAD_LOCAL = new TransactionResourceContext() {
+        @Override
+        public Connection getResource(DataSource key) {
+            return TransactionSynchronizationManager.getResource(key);
+        }
+
+        @Override
+        public void bindResource(DataSource key, Connection value) {
+            TransactionSynchronizationManager.bindResource(key, value);
+        }
+
+        @Override
+        public Connection unbindResource(DataSource key) {
+            return TransactionSynchronizationManager.unbindResource(key);
+        }
+    };
+
+    Connection getResource(DataSource key);
+
+    void bindResource(DataSource key, Connection value);
+
+    Connection unbindResource(DataSource key);
+}
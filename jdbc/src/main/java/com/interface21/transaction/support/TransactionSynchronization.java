@@ -0,0 +1,10 @@
+package com.interface21.transaction.support;
+
+public interface TransactionSynchronization {
+
+    default void afterCommit() {
+    }
+
+    default void afterCompletion(boolean committed) {
+    }
+}
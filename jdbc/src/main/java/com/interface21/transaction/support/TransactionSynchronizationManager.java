@@ -2,22 +2,213 @@ package com.interface21.transaction.support;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public abstract class TransactionSynchronizationManager {
 
-    private static final ThreadLocal<Map<DataSource, Connection>> resources = new ThreadLocal<>();
+    private static final Logger log = LoggerFactory.getLogger(TransactionSynchronizationManager.class);
+
+    // 바인딩한 Connection과 그 트랜잭션의 동기화, rollback-only 표시를 스레드마다 따로 두어 커밋 경로에 공유 잠금이 없다.
+    private static final ThreadLocal<Resources> resources = new ThreadLocal<>();
 
     private TransactionSynchronizationManager() {}
 
     public static Connection getResource(DataSource key) {
-        return null;
+        Resources current = resources.get();
+        if (current == null) {
+            return null;
+        }
+        return current.get(key);
     }
 
     public static void bindResource(DataSource key, Connection value) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("DataSource and Connection must not be null");
+        }
+        Resources current = currentResources();
+        if (current.get(key) != null) {
+            throw new IllegalStateException("Already value [" + current.get(key) + "] for key [" + key + "] bound to thread");
+        }
+        current.put(key, value);
     }
 
     public static Connection unbindResource(DataSource key) {
-        return null;
+        Resources current = resources.get();
+        Connection value = current == null ? null : current.remove(key);
+        if (value == null) {
+            throw new IllegalStateException("No value for key [" + key + "] bound to thread");
+        }
+        // 트랜잭션 매니저 없이 직접 바인딩한 트랜잭션이 남긴 동기화와 상태를 정리한다. 결과를 모르므로 롤백으로 알린다.
+        triggerAfterCompletion(value, false);
+        removeIfEmpty(current);
+        return value;
+    }
+
+    public static boolean hasResource(DataSource key) {
+        return getResource(key) != null;
+    }
+
+    /**
+     * 트랜잭션을 진행하는 스레드에서 호출해야 한다. 상태는 호출한 스레드의 자원 홀더에 쌓인다.
+     */
+    public static void registerSynchronization(Connection transactionConnection, TransactionSynchronization synchronization) {
+        currentResources().stateOf(transactionConnection).synchronizations.add(synchronization);
+    }
+
+    /**
+     * 트랜잭션이 끝날 때 호출한다. 등록된 동기화를 실행하고 rollback-only 표시와 함께 지운다.
+     * 동기화가 던진 예외는 기록만 하고 나머지 동기화를 계속 실행한다.
+     */
+    public static void triggerAfterCompletion(Connection transactionConnection, boolean committed) {
+        TransactionState state = removeState(transactionConnection);
+        if (state == null) {
+            return;
+        }
+        for (TransactionSynchronization synchronization : state.synchronizations) {
+            try {
+                if (committed) {
+                    synchronization.afterCommit();
+                }
+                synchronization.afterCompletion(committed);
+            } catch (RuntimeException e) {
+                log.error("TransactionSynchronization threw exception after completion", e);
+            }
+        }
+    }
+
+    /**
+     * REQUIRES_NEW로 바깥 트랜잭션을 잠시 떼어낼 때 호출한다. 떼어낸 동안 unbind가 바깥 트랜잭션의 동기화를 실행하지 않도록
+     * 상태를 꺼내 두었다가 resumeSynchronizations로 되돌린다.
+     */
+    public static TransactionState suspendSynchronizations(Connection transactionConnection) {
+        return removeState(transactionConnection);
+    }
+
+    public static void resumeSynchronizations(Connection transactionConnection, TransactionState state) {
+        if (state != null) {
+            currentResources().states().put(transactionConnection, state);
+        }
+    }
+
+    /**
+     * 트랜잭션에 참여한 쪽이 롤백을 요청했음을 물리 트랜잭션 전체에 표시한다. 트랜잭션을 시작한 쪽은 커밋 대신 롤백해야 한다.
+     */
+    public static void setRollbackOnly(Connection transactionConnection) {
+        currentResources().stateOf(transactionConnection).rollbackOnly = true;
+    }
+
+    public static void resetRollbackOnly(Connection transactionConnection) {
+        TransactionState state = findState(transactionConnection);
+        if (state != null) {
+            state.rollbackOnly = false;
+        }
+    }
+
+    public static boolean isRollbackOnly(Connection transactionConnection) {
+        TransactionState state = findState(transactionConnection);
+        return state != null && state.rollbackOnly;
+    }
+
+    private static Resources currentResources() {
+        Resources current = resources.get();
+        if (current == null) {
+            current = new Resources();
+            resources.set(current);
+        }
+        return current;
+    }
+
+    private static TransactionState findState(Connection transactionConnection) {
+        Resources current = resources.get();
+        if (current == null || current.transactions == null) {
+            return null;
+        }
+        return current.transactions.get(transactionConnection);
+    }
+
+    private static TransactionState removeState(Connection transactionConnection) {
+        Resources current = resources.get();
+        if (current == null || current.transactions == null) {
+            return null;
+        }
+        TransactionState state = current.transactions.remove(transactionConnection);
+        removeIfEmpty(current);
+        return state;
+    }
+
+    // 풀 스레드에 빈 홀더가 남지 않도록 바인딩과 상태가 모두 사라지면 ThreadLocal을 비운다.
+    private static void removeIfEmpty(Resources current) {
+        if (current.isEmpty() && resources.get() == current) {
+            resources.remove();
+        }
+    }
+
+    public static final class TransactionState {
+
+        private final List<TransactionSynchronization> synchronizations = new ArrayList<>(2);
+        private boolean rollbackOnly;
+
+        private TransactionState() {}
+    }
+
+    // 대부분의 스레드는 DataSource 하나만 바인딩하므로 첫 번째 자원은 필드에 두고, 두 번째부터 Map을 만든다.
+    // 트랜잭션 상태는 어떤 자원 컨텍스트로 바인딩했든 같게 찾도록 Connection을 키로 둔다.
+    private static final class Resources {
+
+        private DataSource primaryKey;
+        private Connection primaryValue;
+        private Map<DataSource, Connection> others;
+        private Map<Connection, TransactionState> transactions;
+
+        private Map<Connection, TransactionState> states() {
+            if (transactions == null) {
+                transactions = new IdentityHashMap<>(4);
+            }
+            return transactions;
+        }
+
+        private TransactionState stateOf(Connection transactionConnection) {
+            return states().computeIfAbsent(transactionConnection, key -> new TransactionState());
+        }
+
+        private boolean isEmpty() {
+            return primaryKey == null && (others == null || others.isEmpty())
+                    && (transactions == null || transactions.isEmpty());
+        }
+
+        private Connection get(DataSource key) {
+            if (primaryKey == key) {
+                return primaryValue;
+            }
+            return others == null ? null : others.get(key);
+        }
+
+        private void put(DataSource key, Connection value) {
+            if (primaryKey == null) {
+                primaryKey = key;
+                primaryValue = value;
+                return;
+            }
+            if (others == null) {
+                others = new HashMap<>(4);
+            }
+            others.put(key, value);
+        }
+
+        private Connection remove(DataSource key) {
+            if (primaryKey == key) {
+                Connection value = primaryValue;
+                primaryKey = null;
+                primaryValue = null;
+                return value;
+            }
+            return others == null ? null : others.remove(key);
+        }
     }
 }
@@ -0,0 +1,60 @@
+package com.interface21.transaction.support;
+
+import com.interface21.transaction.PlatformTransactionManager;
+import com.interface21.transaction.TransactionDefinition;
+import com.interface21.transaction.TransactionException;
+import com.interface21.transaction.TransactionStatus;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class TransactionTemplate {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionTemplate.class);
+
+    private final PlatformTransactionManager transactionManager;
+    private final TransactionDefinition definition;
+
+    public TransactionTemplate(final PlatformTransactionManager transactionManager) {
+        this(transactionManager, TransactionDefinition.DEFAULT);
+    }
+
+    public TransactionTemplate(final PlatformTransactionManager transactionManager, final TransactionDefinition definition) {
+        this.transactionManager = transactionManager;
+        this.definition = definition;
+    }
+
+    public <T> T execute(TransactionCallback<T> action) {
+        TransactionStatus status = transactionManager.getTransaction(definition);
+        T result;
+        try {
+            result = action.doInTransaction(status);
+        } catch (RuntimeException | Error e) {
+            rollbackOnException(status, e);
+            throw e;
+        }
+        transactionManager.commit(status);
+        return result;
+    }
+
+    public void executeWithoutResult(Consumer<TransactionStatus> action) {
+        execute(status -> {
+            action.accept(status);
+            return null;
+        });
+    }
+
+    public TransactionTemplate with(TransactionDefinition definition) {
+        return new TransactionTemplate(transactionManager, definition);
+    }
+
+    private void rollbackOnException(TransactionStatus status, Throwable ex) {
+        try {
+            transactionManager.rollback(status);
+        } catch (TransactionException | Error rollbackEx) {
+            log.error("Application exception overridden by rollback exception", ex);
+            rollbackEx.addSuppressed(ex);
+            throw rollbackEx;
+        }
+    }
+}
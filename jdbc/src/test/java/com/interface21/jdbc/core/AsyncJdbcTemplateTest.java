@@ -0,0 +1,134 @@
+package com.interface21.jdbc.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AsyncJdbcTemplateTest {
+
+    private Connection connection;
+    private PreparedStatement pstmt;
+    private AsyncJdbcTemplate asyncJdbcTemplate;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        final var dataSource = mock(DataSource.class);
+        connection = mock(Connection.class);
+        pstmt = mock(PreparedStatement.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(pstmt);
+        asyncJdbcTemplate = new AsyncJdbcTemplate(new JdbcTemplate(dataSource), 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        asyncJdbcTemplate.close();
+    }
+
+    @Test
+    void query_deliversMappedRows() throws Exception {
+        final var rs = mock(ResultSet.class);
+        when(pstmt.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(true, true, false);
+        when(rs.getString(1)).thenReturn("gugu", "kaka");
+
+        final var accounts = asyncJdbcTemplate.query("select account from users", r -> r.getString(1));
+
+        assertThat(accounts.get(5, TimeUnit.SECONDS)).containsExactly("gugu", "kaka");
+        verify(connection).close();
+    }
+
+    @Test
+    void execute_neverRunsMoreCallsThanMaxConcurrency() throws Exception {
+        final var running = new AtomicInteger();
+        final var maxRunning = new AtomicInteger();
+        final var release = new CountDownLatch(1);
+        final var futures = new ArrayList<CompletableFuture<Integer>>();
+
+        for (int i = 0; i < 6; i++) {
+            futures.add(asyncJdbcTemplate.execute(con -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                return 1;
+            }));
+        }
+        Thread.sleep(200);
+        assertThat(maxRunning.get()).isEqualTo(2);
+        assertThat(asyncJdbcTemplate.getAvailablePermits()).isZero();
+
+        release.countDown();
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+        assertThat(maxRunning.get()).isEqualTo(2);
+        assertThat(asyncJdbcTemplate.getAvailablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    void cancel_cancelsInFlightStatement() throws Exception {
+        final var executing = new CountDownLatch(1);
+        final var statementCancelled = new CountDownLatch(1);
+        when(pstmt.executeQuery()).thenAnswer(invocation -> {
+            executing.countDown();
+            statementCancelled.await(5, TimeUnit.SECONDS);
+            throw new SQLException("Statement was cancelled");
+        });
+        doAnswer(invocation -> {
+            statementCancelled.countDown();
+            return null;
+        }).when(pstmt).cancel();
+
+        final var future = asyncJdbcTemplate.query("select id from users", r -> r.getLong(1));
+        assertThat(executing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(future.cancel(true)).isTrue();
+
+        assertThat(statementCancelled.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThatThrownBy(future::join).isInstanceOf(CancellationException.class);
+        verify(pstmt).cancel();
+    }
+
+    @Test
+    void statementCreatedAfterCancelIsRejected() throws SQLException {
+        final var tracker = new StatementTracker();
+        final var tracked = tracker.track(connection);
+
+        tracker.cancel();
+
+        assertThatThrownBy(() -> tracked.prepareStatement("select 1"))
+                .isInstanceOf(SQLException.class);
+    }
+
+    @Test
+    void closedStatementsAreNoLongerTracked() throws SQLException {
+        final var tracker = new StatementTracker();
+        final var tracked = tracker.track(connection);
+
+        tracked.prepareStatement("select 1").close();
+
+        assertThat(tracker.getOpenStatementCount()).isZero();
+        verify(pstmt).close();
+    }
+}
@@ -0,0 +1,88 @@
+package com.interface21.jdbc.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.interface21.dao.DataAccessException;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import org.junit.jupiter.api.Test;
+
+class BeanPropertyRowMapperTest {
+
+    record LabelledRow(long userId, String account) {
+    }
+
+    record CachedRow(long id) {
+    }
+
+    // jdbc 모듈은 -parameters 없이 컴파일되므로 일반 클래스의 생성자 파라미터 이름은 남지 않는다.
+    static class PositionalRow {
+
+        private final long id;
+        private final String account;
+
+        PositionalRow(long id, String account) {
+            this.id = id;
+            this.account = account;
+        }
+    }
+
+    @Test
+    void mapRow_bindsColumnsByLabelIgnoringOrderAndUnderscores() throws SQLException {
+        final var rs = resultSet("ACCOUNT", "USER_ID");
+        when(rs.getString(1)).thenReturn("gugu");
+        when(rs.getLong(2)).thenReturn(7L);
+
+        final var row = new BeanPropertyRowMapper<>(LabelledRow.class).mapRow(rs);
+
+        assertThat(row).isEqualTo(new LabelledRow(7L, "gugu"));
+    }
+
+    @Test
+    void mapRow_fallsBackToColumnPositionWithoutParameterNames() throws SQLException {
+        final var rs = resultSet("a", "b");
+        when(rs.getLong(1)).thenReturn(3L);
+        when(rs.getString(2)).thenReturn("kaka");
+
+        final var row = new BeanPropertyRowMapper<>(PositionalRow.class).mapRow(rs);
+
+        assertThat(row.id).isEqualTo(3L);
+        assertThat(row.account).isEqualTo("kaka");
+    }
+
+    @Test
+    void mapRow_failsWhenConstructorParameterHasNoColumn() throws SQLException {
+        final var rs = resultSet("user_id");
+
+        assertThatThrownBy(() -> new BeanPropertyRowMapper<>(LabelledRow.class).mapRow(rs))
+                .isInstanceOf(DataAccessException.class)
+                .hasMessageContaining("account");
+    }
+
+    @Test
+    void mapRow_boundsCachedPlansPerType() throws SQLException {
+        final var mapper = new BeanPropertyRowMapper<>(CachedRow.class);
+        for (int i = 0; i < 100; i++) {
+            final var rs = resultSet("id", "extra_" + i);
+            when(rs.getLong(1)).thenReturn((long) i);
+            assertThat(mapper.mapRow(rs).id()).isEqualTo((long) i);
+        }
+
+        assertThat(BeanPropertyRowMapper.cachedPlanCount(CachedRow.class)).isLessThanOrEqualTo(32);
+    }
+
+    private ResultSet resultSet(String... labels) throws SQLException {
+        final var rs = mock(ResultSet.class);
+        final var metaData = mock(ResultSetMetaData.class);
+        when(rs.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(labels.length);
+        for (int i = 0; i < labels.length; i++) {
+            when(metaData.getColumnLabel(i + 1)).thenReturn(labels[i]);
+        }
+        return rs;
+    }
+}
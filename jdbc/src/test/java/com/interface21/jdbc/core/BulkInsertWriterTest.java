@@ -0,0 +1,54 @@
+package com.interface21.jdbc.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BulkInsertWriterTest {
+
+    private Connection connection;
+    private PreparedStatement pstmt;
+    private BulkInsertWriter<String> writer;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        final var dataSource = mock(DataSource.class);
+        connection = mock(Connection.class);
+        pstmt = mock(PreparedStatement.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(pstmt);
+        writer = new BulkInsertWriter<>(new JdbcTemplate(dataSource), "users", List.of("account", "email"),
+                account -> new Object[]{account, account + "@example.com"});
+    }
+
+    @Test
+    void write_splitsRowsByParameterLimit() throws SQLException {
+        writer.setMaxParameters(4);
+        when(pstmt.executeUpdate()).thenReturn(2, 2, 1);
+
+        final var affected = writer.write(List.of("a", "b", "c", "d", "e"));
+
+        assertThat(affected).isEqualTo(5);
+        verify(connection).prepareStatement("insert into users (account, email) values (?, ?), (?, ?)");
+        verify(connection).prepareStatement("insert into users (account, email) values (?, ?)");
+        verify(pstmt, times(3)).executeUpdate();
+        verify(pstmt).setString(4, "b@example.com");
+        verify(connection).close();
+    }
+
+    @Test
+    void sqlFor_isCachedPerRowCount() {
+        assertThat(writer.sqlFor(3)).isSameAs(writer.sqlFor(3));
+    }
+}
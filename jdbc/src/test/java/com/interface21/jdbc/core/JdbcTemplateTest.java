@@ -1,5 +1,316 @@
 package com.interface21.jdbc.core;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.interface21.dao.DataAccessException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
 class JdbcTemplateTest {
 
+    private DataSource dataSource;
+    private Connection connection;
+    private PreparedStatement pstmt;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = mock(DataSource.class);
+        connection = mock(Connection.class);
+        pstmt = mock(PreparedStatement.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(pstmt);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    void batchUpdate_flushesInChunks() throws SQLException {
+        jdbcTemplate.setBatchSize(2);
+        when(pstmt.executeBatch()).thenReturn(new int[]{1, 1}, new int[]{1});
+
+        final var counts = jdbcTemplate.batchUpdate("insert into users (account) values (?)", List.of(
+                new Object[]{"a"},
+                new Object[]{"b"},
+                new Object[]{"c"}
+        ));
+
+        assertThat(counts).containsExactly(1, 1, 1);
+        verify(pstmt, times(3)).addBatch();
+        verify(pstmt, times(2)).executeBatch();
+        verify(connection).close();
+    }
+
+    @Test
+    void batchUpdate_collectsGeneratedKeysFromEveryChunk() throws SQLException {
+        final var firstKeys = mock(ResultSet.class);
+        final var secondKeys = mock(ResultSet.class);
+        when(connection.prepareStatement(anyString(), eq(Statement.RETURN_GENERATED_KEYS))).thenReturn(pstmt);
+        jdbcTemplate.setBatchSize(2);
+        when(pstmt.executeBatch()).thenReturn(new int[]{1, 1}, new int[]{1});
+        when(pstmt.getGeneratedKeys()).thenReturn(firstKeys, secondKeys);
+        when(firstKeys.next()).thenReturn(true, true, false);
+        when(firstKeys.getLong(1)).thenReturn(10L, 11L);
+        when(secondKeys.next()).thenReturn(true, false);
+        when(secondKeys.getLong(1)).thenReturn(12L);
+        final var keyHolder = new KeyHolder();
+
+        jdbcTemplate.batchUpdate("insert into users (account) values (?)", List.of(
+                new Object[]{"a"},
+                new Object[]{"b"},
+                new Object[]{"c"}
+        ), keyHolder);
+
+        assertThat(keyHolder.getKeys()).containsExactly(10L, 11L, 12L);
+        verify(firstKeys).close();
+        verify(secondKeys).close();
+        verify(connection).close();
+    }
+
+    @Test
+    void queryForStream_closesResourcesOnStreamClose() throws SQLException {
+        final var rs = mock(ResultSet.class);
+        when(pstmt.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(true, true, false);
+        when(rs.getLong(1)).thenReturn(1L, 2L);
+
+        try (final var ids = jdbcTemplate.queryForStream("select id from users", r -> r.getLong(1))) {
+            assertThat(ids).containsExactly(1L, 2L);
+        }
+
+        verify(rs).close();
+        verify(pstmt).close();
+        verify(connection).close();
+    }
+
+    @Test
+    void queryForLongArray_growsPrimitiveBuffer() throws SQLException {
+        final var rs = mock(ResultSet.class);
+        when(pstmt.executeQuery()).thenReturn(rs);
+        final var rows = new AtomicInteger();
+        when(rs.next()).thenAnswer(invocation -> rows.incrementAndGet() <= 40);
+        when(rs.getLong(1)).thenAnswer(invocation -> (long) rows.get());
+
+        final var ids = jdbcTemplate.queryForLongArray("select id from users");
+
+        assertThat(ids).hasSize(40).startsWith(1L, 2L).endsWith(40L);
+        verify(connection).close();
+    }
+
+    @Test
+    void queryForLongStream_closesResourcesOnStreamClose() throws SQLException {
+        final var rs = mock(ResultSet.class);
+        when(pstmt.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(true, true, false);
+        when(rs.getLong(1)).thenReturn(3L, 4L);
+
+        try (final var ids = jdbcTemplate.queryForLongStream("select id from users")) {
+            assertThat(ids.sum()).isEqualTo(7L);
+        }
+
+        verify(rs).close();
+        verify(pstmt).close();
+        verify(connection).close();
+    }
+
+    @Test
+    void queryForLong_failsWhenNoRow() throws SQLException {
+        final var rs = mock(ResultSet.class);
+        when(pstmt.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(false);
+
+        assertThatThrownBy(() -> jdbcTemplate.queryForLong("select count(*) from users where id = ?", 1L))
+                .isInstanceOf(DataAccessException.class);
+    }
+
+    @Test
+    void queryForLong_failsWhenMoreThanOneRow() throws SQLException {
+        final var rs = mock(ResultSet.class);
+        when(pstmt.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(true, true, true, false);
+        when(rs.getLong(1)).thenReturn(1L, 2L, 3L);
+
+        assertThatThrownBy(() -> jdbcTemplate.queryForLong("select id from users where account = ?", "gugu"))
+                .isInstanceOf(DataAccessException.class)
+                .hasMessageContaining("got 2");
+        verify(rs, times(2)).next();
+        verify(rs).close();
+    }
+
+    @Test
+    void queryForInt_failsOnSqlNull() throws SQLException {
+        final var rs = mock(ResultSet.class);
+        when(pstmt.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(true, false);
+        when(rs.getInt(1)).thenReturn(0);
+        when(rs.wasNull()).thenReturn(true);
+
+        assertThatThrownBy(() -> jdbcTemplate.queryForInt("select max(age) from users"))
+                .isInstanceOf(DataAccessException.class)
+                .hasMessageContaining("NULL");
+    }
+
+    @Test
+    void queryForLongArray_readsSqlNullAsZero() throws SQLException {
+        final var rs = mock(ResultSet.class);
+        when(pstmt.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(true, false);
+        when(rs.getLong(1)).thenReturn(0L);
+        when(rs.wasNull()).thenReturn(true);
+
+        assertThat(jdbcTemplate.queryForLongArray("select max(id) from users")).containsExactly(0L);
+    }
+
+    @Test
+    void update_bindsParametersWithTypedSetters() throws SQLException {
+        final var createdAt = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+        jdbcTemplate.update("insert into user_history (user_id, account, created_at) values (?, ?, ?)",
+                1L, "gugu", createdAt);
+
+        verify(pstmt).setLong(1, 1L);
+        verify(pstmt).setString(2, "gugu");
+        verify(pstmt).setTimestamp(3, Timestamp.valueOf(createdAt));
+    }
+
+    @Test
+    void queryForObject_bindsNullIdWithoutUnboxing() throws SQLException {
+        final var rs = mock(ResultSet.class);
+        when(pstmt.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(false);
+        final Long id = null;
+
+        final var account = jdbcTemplate.queryForObject("select account from users where id = ?",
+                r -> r.getString(1), id);
+
+        assertThat(account).isNull();
+        verify(pstmt).setObject(1, null);
+    }
+
+    @Test
+    void queryForPage_seeksPastContinuationToken() throws SQLException {
+        final var rs = mock(ResultSet.class);
+        when(pstmt.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(true, true, true, false);
+        when(rs.getLong(1)).thenReturn(11L, 12L);
+        when(rs.getObject("id")).thenReturn(11L, 12L, 13L);
+        final var token = new Page<>(List.of(), 10L, true).nextToken();
+
+        final var page = jdbcTemplate.queryForPage("select id from users", "id", 2, token, r -> r.getLong(1));
+
+        verify(connection).prepareStatement("select * from (select id from users) p where p.id > ? order by p.id limit ?");
+        verify(pstmt).setLong(1, 10L);
+        verify(pstmt).setInt(2, 3);
+        assertThat(page.content()).containsExactly(11L, 12L);
+        assertThat(page.hasNext()).isTrue();
+        assertThat(Page.decodeToken(page.nextToken())).isEqualTo(12L);
+    }
+
+    @Test
+    void seekPage_wrapsFirstPageLikeLaterPages() throws SQLException {
+        final var rs = mock(ResultSet.class);
+        when(pstmt.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(false);
+
+        jdbcTemplate.seekPage("select u.id from users u where u.account = ?", "u.id", 2, null,
+                r -> r.getLong(1), "gugu");
+
+        verify(connection).prepareStatement("select * from (select u.id from users u where u.account = ?) p "
+                + "order by p.id limit ?");
+        verify(pstmt).setInt(2, 3);
+    }
+
+    @Test
+    void seekPage_rejectsDuplicateKeyAcrossPageBoundary() throws SQLException {
+        final var rs = mock(ResultSet.class);
+        when(pstmt.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(true, true, true, false);
+        when(rs.getObject("created_at")).thenReturn("2024-01-01", "2024-01-02", "2024-01-02");
+
+        assertThatThrownBy(() -> jdbcTemplate.seekPage("select id, created_at from users", "created_at", 2, null,
+                r -> r.getLong(1)))
+                .isInstanceOf(DataAccessException.class)
+                .hasMessageContaining("unique");
+    }
+
+    @Test
+    void seekPage_keepsOrPredicateSeparateFromKeyCondition() throws SQLException {
+        final var rs = mock(ResultSet.class);
+        when(pstmt.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(false);
+
+        jdbcTemplate.seekPage("select u.id from users u where u.account = ? or u.email = ?", "u.id", 2, 10L,
+                r -> r.getLong(1), "gugu", "gugu@woowahan.com");
+
+        verify(connection).prepareStatement("select * from (select u.id from users u where u.account = ? or u.email = ?) p "
+                + "where p.id > ? order by p.id limit ?");
+        verify(pstmt).setLong(3, 10L);
+    }
+
+    @Test
+    void seekPage_rejectsKeyThatCannotBecomeToken() {
+        assertThatThrownBy(() -> jdbcTemplate.seekPage("select id from users", "id", 2,
+                LocalDateTime.of(2024, 1, 1, 0, 0), r -> r.getLong(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void seekPage_rejectsRowKeyThatCannotBecomeToken() throws SQLException {
+        final var rs = mock(ResultSet.class);
+        when(pstmt.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(true, false);
+        when(rs.getObject("created_at")).thenReturn(Timestamp.valueOf(LocalDateTime.of(2024, 1, 1, 0, 0)));
+
+        assertThatThrownBy(() -> jdbcTemplate.seekPage("select id, created_at from users", "created_at", 2, null,
+                r -> r.getLong(1)))
+                .isInstanceOf(DataAccessException.class);
+        verify(rs).close();
+    }
+
+    @Test
+    void queryForColumns_storesLongsAndDictionaryEncodedStrings() throws SQLException {
+        final var rs = mock(ResultSet.class);
+        final var metaData = mock(ResultSetMetaData.class);
+        when(pstmt.executeQuery()).thenReturn(rs);
+        when(rs.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(2);
+        when(metaData.getColumnLabel(1)).thenReturn("USER_ID");
+        when(metaData.getColumnLabel(2)).thenReturn("ACCOUNT");
+        when(metaData.getColumnType(1)).thenReturn(Types.BIGINT);
+        when(metaData.getColumnType(2)).thenReturn(Types.VARCHAR);
+        when(rs.next()).thenReturn(true, true, true, false);
+        when(rs.getLong(1)).thenReturn(1L, 2L, 1L);
+        when(rs.getString(2)).thenReturn("gugu", "kaka", "gugu");
+
+        final var result = jdbcTemplate.queryForColumns("select user_id, account from user_history");
+
+        assertThat(result.getRowCount()).isEqualTo(3);
+        assertThat(result.toLongArray(result.findColumn("user_id"))).containsExactly(1L, 2L, 1L);
+        assertThat(result.getString(1, 2)).isEqualTo("gugu");
+        assertThat(result.getDistinctCount(1)).isEqualTo(2);
+        final var cursor = result.cursor();
+        long sum = 0;
+        while (cursor.next()) {
+            sum += cursor.getLong(0);
+        }
+        assertThat(sum).isEqualTo(4L);
+    }
 }
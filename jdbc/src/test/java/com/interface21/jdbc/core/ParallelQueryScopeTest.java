@@ -0,0 +1,160 @@
+package com.interface21.jdbc.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.interface21.dao.DataAccessException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ParallelQueryScopeTest {
+
+    private static final RowMapper<Long> ID_MAPPER = rs -> rs.getLong(1);
+
+    private Connection connection;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        final var dataSource = mock(DataSource.class);
+        connection = mock(Connection.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    void join_collectsTypedResults() throws SQLException {
+        stubQuery("select account from users where id = ?", "gugu");
+        stubQuery("select count(*) from user_history where user_id = ?", 3L);
+
+        try (final var scope = jdbcTemplate.fanOut(Duration.ofSeconds(5))) {
+            final var account = scope.fork(() ->
+                    jdbcTemplate.queryForObject("select account from users where id = ?", rs -> rs.getString(1), 1L));
+            final var historyCount = scope.fork(() ->
+                    jdbcTemplate.queryForObject("select count(*) from user_history where user_id = ?", rs -> rs.getLong(1), 1L));
+
+            scope.join();
+
+            assertThat(account.get()).isEqualTo("gugu");
+            assertThat(historyCount.get()).isEqualTo(3L);
+        }
+    }
+
+    @Test
+    void join_failsFastAndCancelsSiblingStatementsWithoutInterrupting() throws SQLException {
+        final var executing = new CountDownLatch(1);
+        final var slow = blockingStatement("select * from user_history", executing);
+        final var interrupted = new AtomicBoolean();
+
+        try (final var scope = jdbcTemplate.fanOut(Duration.ofSeconds(5))) {
+            scope.fork(() -> {
+                try {
+                    return jdbcTemplate.query("select * from user_history", ID_MAPPER);
+                } finally {
+                    interrupted.set(Thread.currentThread().isInterrupted());
+                }
+            });
+            scope.fork(() -> {
+                awaitQuietly(executing);
+                throw new IllegalStateException("lookup failed");
+            });
+
+            assertThatThrownBy(scope::join)
+                    .isInstanceOf(DataAccessException.class)
+                    .hasCauseInstanceOf(IllegalStateException.class);
+        }
+
+        verify(slow).cancel();
+        assertThat(interrupted.get()).isFalse();
+    }
+
+    @Test
+    void join_cancelsStatementsWhenDeadlinePasses() throws SQLException {
+        final var slow = blockingStatement("select * from user_history", new CountDownLatch(1));
+
+        try (final var scope = jdbcTemplate.fanOut(Duration.ofMillis(100))) {
+            scope.fork(() -> jdbcTemplate.query("select * from user_history", ID_MAPPER));
+
+            assertThatThrownBy(scope::join)
+                    .isInstanceOf(DataAccessException.class)
+                    .hasCauseInstanceOf(TimeoutException.class);
+        }
+
+        verify(slow).cancel();
+    }
+
+    @Test
+    void join_stopsSubtaskWaitingForPooledConnectionWhenDeadlinePasses() throws Exception {
+        final var exhaustedPool = mock(DataSource.class);
+        final var waitInterrupted = new CountDownLatch(1);
+        when(exhaustedPool.getConnection()).thenAnswer(invocation -> {
+            try {
+                new CountDownLatch(1).await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                waitInterrupted.countDown();
+                throw new SQLException("Interrupted while waiting for a connection", e);
+            }
+            throw new SQLException("Connection is not available");
+        });
+        final var template = new JdbcTemplate(exhaustedPool);
+
+        final var scope = template.fanOut(Duration.ofMillis(100));
+        final var subtask = scope.fork(() -> template.query("select * from user_history", ID_MAPPER));
+        assertThatThrownBy(scope::join)
+                .isInstanceOf(DataAccessException.class)
+                .hasCauseInstanceOf(TimeoutException.class);
+        scope.close();
+
+        assertThat(waitInterrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(subtask.isDone()).isTrue();
+    }
+
+    private void stubQuery(String sql, Object value) throws SQLException {
+        final var pstmt = mock(PreparedStatement.class);
+        final var rs = mock(ResultSet.class);
+        when(connection.prepareStatement(sql)).thenReturn(pstmt);
+        when(pstmt.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(true, false);
+        when(rs.getString(1)).thenReturn(String.valueOf(value));
+        when(rs.getLong(1)).thenReturn(value instanceof Long number ? number : 0L);
+    }
+
+    // 드라이버처럼 cancel()이 호출될 때까지 executeQuery를 붙잡고 있다가 SQLException으로 끝난다.
+    private PreparedStatement blockingStatement(String sql, CountDownLatch executing) throws SQLException {
+        final var pstmt = mock(PreparedStatement.class);
+        final var cancelled = new CountDownLatch(1);
+        when(connection.prepareStatement(sql)).thenReturn(pstmt);
+        doAnswer(invocation -> {
+            cancelled.countDown();
+            return null;
+        }).when(pstmt).cancel();
+        when(pstmt.executeQuery()).thenAnswer(invocation -> {
+            executing.countDown();
+            cancelled.await(5, TimeUnit.SECONDS);
+            throw new SQLException("Statement was cancelled");
+        });
+        return pstmt;
+    }
+
+    private void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.interface21.jdbc.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.interface21.jdbc.datasource.DataSourceTransactionManager;
+import com.interface21.transaction.support.TransactionSynchronizationManager;
+import com.interface21.transaction.support.TransactionTemplate;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class QueryResultCacheTest {
+
+    private static final String SELECT_SQL = "select account from users where id = ?";
+    private static final String UPDATE_SQL = "update users set account = ? where id = ?";
+    private static final RowMapper<String> ACCOUNT_MAPPER = rs -> rs.getString(1);
+    private static final RowMapper<Integer> ACCOUNT_LENGTH_MAPPER = rs -> rs.getString(1).length();
+    private static final RowMapper<Account> MUTABLE_ACCOUNT_MAPPER = rs -> new Account(rs.getString(1));
+
+    private DataSource dataSource;
+    private Connection connection;
+    private PreparedStatement pstmt;
+    private QueryResultCache cache;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = mock(DataSource.class);
+        connection = mock(Connection.class);
+        pstmt = mock(PreparedStatement.class);
+        final var rs = mock(ResultSet.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(pstmt);
+        when(pstmt.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(true, false, true, false);
+        when(rs.getString(1)).thenReturn("gugu");
+
+        cache = new QueryResultCache(16, Duration.ofMinutes(1));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setQueryResultCache(cache);
+    }
+
+    @Test
+    void query_servesRepeatedLookupsFromCache() throws SQLException {
+        jdbcTemplate.queryForObject(SELECT_SQL, ACCOUNT_MAPPER, 1L);
+        final var account = jdbcTemplate.queryForObject(SELECT_SQL, ACCOUNT_MAPPER, 1L);
+
+        assertThat(account).isEqualTo("gugu");
+        verify(pstmt, times(1)).executeQuery();
+        assertThat(cache.getHitRatio()).isEqualTo(0.5);
+    }
+
+    @Test
+    void update_invalidatesEntriesOfTouchedTable() throws SQLException {
+        jdbcTemplate.queryForObject(SELECT_SQL, ACCOUNT_MAPPER, 1L);
+
+        jdbcTemplate.update(UPDATE_SQL, "gugu2", 1L);
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void update_insideTransactionInvalidatesAfterCommit() {
+        jdbcTemplate.queryForObject(SELECT_SQL, ACCOUNT_MAPPER, 1L);
+        final var transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update(UPDATE_SQL, "gugu2", 1L);
+            assertThat(cache.size()).isEqualTo(1);
+        });
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void query_keepsResultsOfDifferentMappersApart() throws SQLException {
+        final var account = jdbcTemplate.queryForObject(SELECT_SQL, ACCOUNT_MAPPER, 1L);
+        final var accountLength = jdbcTemplate.queryForObject(SELECT_SQL, ACCOUNT_LENGTH_MAPPER, 1L);
+
+        assertThat(account).isEqualTo("gugu");
+        assertThat(accountLength).isEqualTo(4);
+        verify(pstmt, times(2)).executeQuery();
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void query_skipsCachingCommaJoinedTables() throws SQLException {
+        final var sql = "select u.account from users u, user_history h where u.id = h.user_id and u.id = ?";
+
+        jdbcTemplate.queryForObject(sql, ACCOUNT_MAPPER, 1L);
+        jdbcTemplate.queryForObject(sql, ACCOUNT_MAPPER, 1L);
+
+        verify(pstmt, times(2)).executeQuery();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void invalidate_clearsEverythingForCommaJoinedUpdate() {
+        jdbcTemplate.queryForObject(SELECT_SQL, ACCOUNT_MAPPER, 1L);
+
+        cache.invalidate("update user_history h, users u set h.account = u.account where h.user_id = u.id");
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void unbindingHandBoundTransactionAppliesPendingInvalidations() {
+        jdbcTemplate.queryForObject(SELECT_SQL, ACCOUNT_MAPPER, 1L);
+        TransactionSynchronizationManager.bindResource(dataSource, connection);
+
+        jdbcTemplate.update(UPDATE_SQL, "gugu2", 1L);
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.hasPendingInvalidation(connection)).isTrue();
+
+        TransactionSynchronizationManager.unbindResource(dataSource);
+
+        assertThat(cache.size()).isZero();
+        assertThat(cache.hasPendingInvalidation(connection)).isFalse();
+    }
+
+    @Test
+    void query_skipsCachingMutableRowsWithoutCopier() throws SQLException {
+        jdbcTemplate.queryForObject(SELECT_SQL, MUTABLE_ACCOUNT_MAPPER, 1L);
+        jdbcTemplate.queryForObject(SELECT_SQL, MUTABLE_ACCOUNT_MAPPER, 1L);
+
+        verify(pstmt, times(2)).executeQuery();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void query_returnsCopiesOfMutableRowsToEachCaller() throws SQLException {
+        cache.registerCopier(Account.class, account -> new Account(account.name));
+
+        final var first = jdbcTemplate.queryForObject(SELECT_SQL, MUTABLE_ACCOUNT_MAPPER, 1L);
+        first.name = "changed";
+        final var second = jdbcTemplate.queryForObject(SELECT_SQL, MUTABLE_ACCOUNT_MAPPER, 1L);
+        second.name = "changed again";
+        final var third = jdbcTemplate.queryForObject(SELECT_SQL, MUTABLE_ACCOUNT_MAPPER, 1L);
+
+        assertThat(third.name).isEqualTo("gugu");
+        assertThat(third).isNotSameAs(second);
+        verify(pstmt, times(1)).executeQuery();
+    }
+
+    private static class Account {
+
+        private String name;
+
+        private Account(String name) {
+            this.name = name;
+        }
+    }
+}
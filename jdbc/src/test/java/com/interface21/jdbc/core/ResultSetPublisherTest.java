@@ -0,0 +1,179 @@
+package com.interface21.jdbc.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.interface21.transaction.support.TransactionResourceContext;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ResultSetPublisherTest {
+
+    private DataSource dataSource;
+    private Connection connection;
+    private PreparedStatement pstmt;
+    private ResultSet rs;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = mock(DataSource.class);
+        connection = mock(Connection.class);
+        pstmt = mock(PreparedStatement.class);
+        rs = mock(ResultSet.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(pstmt);
+        when(pstmt.executeQuery()).thenReturn(rs);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    void advancesResultSetOnlyAsFarAsRequested() throws Exception {
+        when(rs.next()).thenReturn(true, true, true, false);
+        when(rs.getLong(1)).thenReturn(1L, 2L, 3L);
+        final var subscriber = subscribe();
+
+        subscriber.subscription.request(2);
+
+        assertThat(subscriber.awaitItems(2)).isTrue();
+        assertThat(subscriber.items).containsExactly(1L, 2L);
+        verify(rs, times(2)).next();
+        verify(pstmt).setFetchSize(2);
+        assertThat(subscriber.terminated.getCount()).isEqualTo(1L);
+
+        subscriber.subscription.request(2);
+
+        assertThat(subscriber.terminated.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(subscriber.items).containsExactly(1L, 2L, 3L);
+        assertThat(subscriber.completed).isTrue();
+        verifyReleased();
+    }
+
+    @Test
+    void releasesConnectionOnCancel() throws Exception {
+        when(rs.next()).thenReturn(true);
+        when(rs.getLong(1)).thenReturn(1L);
+        final var subscriber = subscribe();
+
+        subscriber.subscription.request(2);
+        assertThat(subscriber.awaitItems(2)).isTrue();
+        subscriber.subscription.cancel();
+
+        verify(rs, timeout(5000)).close();
+        verify(pstmt, timeout(5000)).close();
+        verify(connection, timeout(5000)).close();
+        assertThat(subscriber.completed).isFalse();
+        assertThat(subscriber.error).isNull();
+    }
+
+    @Test
+    void releasesConnectionOnCompletion() throws Exception {
+        when(rs.next()).thenReturn(true, false);
+        when(rs.getLong(1)).thenReturn(1L);
+        final var subscriber = subscribe();
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertThat(subscriber.terminated.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(subscriber.completed).isTrue();
+        verifyReleased();
+    }
+
+    @Test
+    void releasesConnectionOnDriverError() throws Exception {
+        when(rs.next()).thenReturn(true).thenThrow(new SQLException("connection reset"));
+        when(rs.getLong(1)).thenReturn(1L);
+        final var subscriber = subscribe();
+
+        subscriber.subscription.request(5);
+
+        assertThat(subscriber.terminated.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(subscriber.items).containsExactly(1L);
+        assertThat(subscriber.error).isInstanceOf(SQLException.class);
+        verifyReleased();
+    }
+
+    @Test
+    void keepsTransactionalConnectionOpenWhenReleasedOnAnotherThread() throws Exception {
+        when(rs.next()).thenReturn(true, false);
+        when(rs.getLong(1)).thenReturn(1L);
+        // 커넥션을 얻은 스레드에서는 트랜잭션이 보이지만, 반납하는 스레드의 컨텍스트에는 보이지 않는 상황이다.
+        final var resourceContext = mock(TransactionResourceContext.class);
+        when(resourceContext.getResource(dataSource)).thenReturn(connection, connection, null);
+        jdbcTemplate.setResourceContext(resourceContext);
+        final var subscriber = subscribe();
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertThat(subscriber.terminated.await(5, TimeUnit.SECONDS)).isTrue();
+        verify(rs).close();
+        verify(pstmt).close();
+        verify(connection, never()).close();
+    }
+
+    private RecordingSubscriber subscribe() {
+        final var subscriber = new RecordingSubscriber();
+        jdbcTemplate.queryForPublisher("select id from users", r -> r.getLong(1)).subscribe(subscriber);
+        return subscriber;
+    }
+
+    private void verifyReleased() throws SQLException {
+        verify(rs).close();
+        verify(pstmt).close();
+        verify(connection).close();
+    }
+
+    private static class RecordingSubscriber implements Flow.Subscriber<Long> {
+
+        private final List<Long> items = new CopyOnWriteArrayList<>();
+        private final Semaphore received = new Semaphore(0);
+        private final CountDownLatch terminated = new CountDownLatch(1);
+        private volatile Flow.Subscription subscription;
+        private volatile boolean completed;
+        private volatile Throwable error;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(Long item) {
+            items.add(item);
+            received.release();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            terminated.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+            terminated.countDown();
+        }
+
+        private boolean awaitItems(int count) throws InterruptedException {
+            return received.tryAcquire(count, 5, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.interface21.jdbc.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.interface21.dao.DataAccessException;
+import com.interface21.jdbc.datasource.ShardRouter;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import javax.sql.DataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ShardedJdbcTemplateTest {
+
+    private static final List<String> ACCOUNTS = IntStream.range(0, 30).mapToObj(i -> "user" + i).toList();
+
+    private ShardRouter router;
+    private ShardedJdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        router = new ShardRouter()
+                .addShard("shard0", shard("shard0"))
+                .addShard("shard1", shard("shard1"))
+                .addShard("shard2", shard("shard2"));
+        jdbcTemplate = new ShardedJdbcTemplate(router);
+        for (String account : ACCOUNTS) {
+            jdbcTemplate.update(account, "insert into users (account) values (?)", account);
+        }
+    }
+
+    @Test
+    void singleKeyCallsHitOwningShard() {
+        final var owner = router.shardFor("user7");
+
+        final var account = jdbcTemplate.queryForObject("user7", "select account from users where account = ?",
+                rs -> rs.getString(1), "user7");
+        final var onOwner = new JdbcTemplate(owner).queryForObject("select count(*) from users where account = ?",
+                rs -> rs.getLong(1), "user7");
+
+        assertThat(account).isEqualTo("user7");
+        assertThat(onOwner).isEqualTo(1L);
+    }
+
+    @Test
+    void queryAllMergesEveryShard() {
+        final var accounts = jdbcTemplate.queryAllForList("select account from users", rs -> rs.getString(1));
+
+        assertThat(accounts).containsExactlyInAnyOrderElementsOf(ACCOUNTS);
+    }
+
+    @Test
+    void queryAllHandsOverRowsBeforeShardFinishes() throws SQLException {
+        final var firstRowConsumed = new CountDownLatch(1);
+        final var shardFinished = new AtomicBoolean();
+        final var pstmt = mock(PreparedStatement.class);
+        final var rs = mock(ResultSet.class);
+        when(pstmt.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(true).thenAnswer(invocation -> {
+            firstRowConsumed.await(5, TimeUnit.SECONDS);
+            shardFinished.set(true);
+            return false;
+        });
+        when(rs.getString(1)).thenReturn("user0");
+        final var mockRouter = new ShardRouter().addShard("streaming", mockShard(pstmt));
+
+        try (final var accounts = new ShardedJdbcTemplate(mockRouter)
+                .queryAll("select account from users", r -> r.getString(1))) {
+            final var iterator = accounts.iterator();
+
+            assertThat(iterator.next()).isEqualTo("user0");
+            assertThat(shardFinished).isFalse();
+            firstRowConsumed.countDown();
+            assertThat(iterator.hasNext()).isFalse();
+        }
+
+        verify(rs, timeout(5000)).close();
+    }
+
+    @Test
+    void addingShardRemapsAboutOneNthOfKeys() {
+        final var keys = IntStream.range(0, 10_000).boxed().toList();
+        final var before = keys.stream().map(router::shardFor).toList();
+
+        router.addShard("shard3", new JdbcDataSource());
+        final long moved = IntStream.range(0, keys.size())
+                .filter(i -> router.shardFor(keys.get(i)) != before.get(i))
+                .count();
+
+        assertThat(moved).isBetween(1_500L, 3_500L);
+    }
+
+    @Test
+    void failingShardCancelsStatementsOnOtherShards() throws SQLException {
+        final var executing = new CountDownLatch(1);
+        final var slow = mock(PreparedStatement.class);
+        final var cancelled = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            cancelled.countDown();
+            return null;
+        }).when(slow).cancel();
+        when(slow.executeQuery()).thenAnswer(invocation -> {
+            executing.countDown();
+            cancelled.await(5, TimeUnit.SECONDS);
+            throw new SQLException("Statement was cancelled");
+        });
+        final var failing = mock(PreparedStatement.class);
+        when(failing.executeQuery()).thenAnswer(invocation -> {
+            executing.await(5, TimeUnit.SECONDS);
+            throw new SQLException("shard is down");
+        });
+        final var mockRouter = new ShardRouter()
+                .addShard("slow", mockShard(slow))
+                .addShard("failing", mockShard(failing));
+
+        assertThatThrownBy(() -> new ShardedJdbcTemplate(mockRouter)
+                .queryAllForList("select account from users", rs -> rs.getString(1)))
+                .isInstanceOf(DataAccessException.class);
+
+        verify(slow).cancel();
+    }
+
+    @Test
+    void removeShardDropsItsTemplate() {
+        jdbcTemplate.queryAllForList("select account from users", rs -> rs.getString(1));
+        assertThat(jdbcTemplate.getTemplateCount()).isEqualTo(3);
+
+        jdbcTemplate.removeShard("shard2");
+
+        assertThat(router.getShards()).hasSize(2);
+        assertThat(jdbcTemplate.getTemplateCount()).isEqualTo(2);
+    }
+
+    private DataSource mockShard(final PreparedStatement pstmt) throws SQLException {
+        final var dataSource = mock(DataSource.class);
+        final var connection = mock(Connection.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(pstmt);
+        return dataSource;
+    }
+
+    private DataSource shard(final String name) {
+        final var dataSource = new JdbcDataSource();
+        dataSource.setUrl("jdbc:h2:mem:sharding_" + name + ";DB_CLOSE_DELAY=-1");
+        final var template = new JdbcTemplate(dataSource);
+        template.update("create table if not exists users (account varchar(100) not null)");
+        template.update("delete from users");
+        return dataSource;
+    }
+}
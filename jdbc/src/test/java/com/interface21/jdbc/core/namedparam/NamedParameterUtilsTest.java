@@ -0,0 +1,54 @@
+package com.interface21.jdbc.core.namedparam;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class NamedParameterUtilsTest {
+
+    @Test
+    void replacesNamedParametersWithPlaceholders() {
+        final var parsed = NamedParameterUtils.parseSqlStatement(
+                "insert into users (account, email) values (:account, :email)");
+
+        assertThat(parsed.positionalSql()).isEqualTo("insert into users (account, email) values (?, ?)");
+        assertThat(parsed.parameterNames()).containsExactly("account", "email");
+    }
+
+    @Test
+    void ignoresQuotesCommentsAndCasts() {
+        final var parsed = NamedParameterUtils.parseSqlStatement(
+                "select ':skip', id::text from users -- :comment\nwhere id = :id /* :block */");
+
+        assertThat(parsed.positionalSql()).isEqualTo("select ':skip', id::text from users -- :comment\nwhere id = ? /* :block */");
+        assertThat(parsed.parameterNames()).containsExactly("id");
+    }
+
+    @Test
+    void readsBeanProperties() {
+        final var source = new BeanPropertySqlParameterSource(new Sample(7L, "gugu"));
+
+        assertThat(source.getValue("id")).isEqualTo(7L);
+        assertThat(source.getValue("account")).isEqualTo("gugu");
+        assertThat(source.hasValue("missing")).isFalse();
+    }
+
+    public static class Sample {
+
+        private final long id;
+        private final String account;
+
+        Sample(long id, String account) {
+            this.id = id;
+            this.account = account;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public String getAccount() {
+            return account;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.interface21.jdbc.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PooledDataSourceTest {
+
+    private DataSource target;
+    private PooledDataSource pool;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> {
+            final var connection = mock(Connection.class);
+            when(connection.getAutoCommit()).thenReturn(true);
+            return connection;
+        });
+        pool = new PooledDataSource(target, 2);
+        pool.setConnectionTimeout(100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void reusesReturnedConnection() throws SQLException {
+        pool.getConnection().close();
+        pool.getConnection().close();
+
+        verify(target, times(1)).getConnection();
+        assertThat(pool.getIdleConnections()).isEqualTo(1);
+    }
+
+    @Test
+    void timesOutWhenPoolIsExhausted() throws SQLException {
+        final var first = pool.getConnection();
+        final var second = pool.getConnection();
+
+        assertThatThrownBy(() -> pool.getConnection())
+                .isInstanceOf(SQLTransientConnectionException.class);
+
+        first.close();
+        second.close();
+        assertThat(pool.getTotalConnections()).isEqualTo(2);
+    }
+
+    @Test
+    void evictsConnectionsPastMaxLifetime() throws SQLException, InterruptedException {
+        pool.setMaxLifetime(1);
+        final var connection = pool.getConnection();
+        Thread.sleep(5);
+
+        connection.close();
+
+        assertThat(pool.getTotalConnections()).isZero();
+    }
+}
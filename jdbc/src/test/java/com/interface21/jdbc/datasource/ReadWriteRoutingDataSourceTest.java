@@ -0,0 +1,90 @@
+package com.interface21.jdbc.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.interface21.jdbc.core.JdbcTemplate;
+import com.interface21.jdbc.core.RowMapper;
+import com.interface21.transaction.TransactionDefinition;
+import com.interface21.transaction.support.TransactionTemplate;
+import java.sql.SQLException;
+import java.util.List;
+import javax.sql.DataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private static final String SELECT_NODE = "select name from node";
+    private static final RowMapper<String> NAME_MAPPER = rs -> rs.getString(1);
+
+    private DataSource primary;
+    private DataSource replica1;
+    private DataSource replica2;
+
+    @BeforeEach
+    void setUp() {
+        primary = node("primary");
+        replica1 = node("replica1");
+        replica2 = node("replica2");
+    }
+
+    @Test
+    void routesWritesToPrimaryAndHintedReadsToReplicas() {
+        final var routing = new ReadWriteRoutingDataSource(primary, List.of(replica1, replica2));
+        final var jdbcTemplate = new JdbcTemplate(routing);
+
+        assertThat(jdbcTemplate.queryForObject(SELECT_NODE, NAME_MAPPER)).isEqualTo("primary");
+        assertThat(jdbcTemplate.readOnly().queryForObject(SELECT_NODE, NAME_MAPPER)).startsWith("replica");
+    }
+
+    @Test
+    void routesReadOnlyTransactionsToReplicas() {
+        final var routing = new ReadWriteRoutingDataSource(primary, List.of(replica1, replica2));
+        final var jdbcTemplate = new JdbcTemplate(routing);
+        final var transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(routing));
+
+        final var readOnly = transactionTemplate.with(TransactionDefinition.READ_ONLY)
+                .execute(status -> jdbcTemplate.queryForObject(SELECT_NODE, NAME_MAPPER));
+        final var readWrite = transactionTemplate.execute(status -> jdbcTemplate.queryForObject(SELECT_NODE, NAME_MAPPER));
+
+        assertThat(readOnly).startsWith("replica");
+        assertThat(readWrite).isEqualTo("primary");
+    }
+
+    @Test
+    void balancesByLeastInFlightConnections() throws SQLException {
+        final var routing = new ReadWriteRoutingDataSource(primary, List.of(replica1, replica2));
+
+        try (final var first = routing.getReadOnlyConnection();
+             final var second = routing.getReadOnlyConnection()) {
+            assertThat(routing.getReplicaInFlight()).containsExactly(1, 1);
+        }
+        assertThat(routing.getReplicaInFlight()).containsExactly(0, 0);
+    }
+
+    @Test
+    void ejectsReplicaThatFailsToConnect() throws SQLException {
+        final var broken = mock(DataSource.class);
+        when(broken.getConnection()).thenThrow(new SQLException("replica down"));
+        final var routing = new ReadWriteRoutingDataSource(primary, List.of(broken, replica2));
+        final var readOnlyTemplate = new JdbcTemplate(routing).readOnly();
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(readOnlyTemplate.queryForObject(SELECT_NODE, NAME_MAPPER)).isEqualTo("replica2");
+        }
+        assertThat(routing.getAvailableReplicaCount()).isEqualTo(1);
+    }
+
+    private DataSource node(final String name) {
+        final var dataSource = new JdbcDataSource();
+        dataSource.setUrl("jdbc:h2:mem:routing_" + name + ";DB_CLOSE_DELAY=-1");
+        final var jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("create table if not exists node (name varchar(20))");
+        jdbcTemplate.update("delete from node");
+        jdbcTemplate.update("insert into node (name) values (?)", name);
+        return dataSource;
+    }
+}
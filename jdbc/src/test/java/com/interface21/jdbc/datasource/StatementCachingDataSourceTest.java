@@ -0,0 +1,82 @@
+package com.interface21.jdbc.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class StatementCachingDataSourceTest {
+
+    private Connection connection;
+    private PreparedStatement pstmt;
+    private StatementCachingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        final var target = mock(DataSource.class);
+        connection = mock(Connection.class);
+        pstmt = mock(PreparedStatement.class);
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(pstmt);
+        dataSource = new StatementCachingDataSource(target, 2);
+    }
+
+    @Test
+    void reusesStatementOnSameConnection() throws SQLException {
+        final var con = dataSource.getConnection();
+
+        con.prepareStatement("select 1").close();
+        con.prepareStatement("select 1").close();
+
+        verify(connection, times(1)).prepareStatement("select 1");
+        assertThat(dataSource.getHitCount()).isEqualTo(1);
+        assertThat(dataSource.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    void closesCachedStatementsWithConnection() throws SQLException {
+        final var con = dataSource.getConnection();
+        con.prepareStatement("select 1").close();
+
+        con.close();
+
+        verify(pstmt).close();
+        verify(connection).close();
+    }
+
+    @Test
+    void restoresStatementSettingsBeforeReuse() throws SQLException {
+        when(pstmt.getFetchSize()).thenReturn(0);
+        when(pstmt.getMaxRows()).thenReturn(0);
+        when(pstmt.getQueryTimeout()).thenReturn(0);
+        final var con = dataSource.getConnection();
+
+        final var first = con.prepareStatement("select 1");
+        first.setFetchSize(500);
+        first.setQueryTimeout(3);
+        first.close();
+
+        verify(pstmt).setFetchSize(0);
+        verify(pstmt).setQueryTimeout(0);
+        verify(pstmt).setMaxRows(0);
+    }
+
+    @Test
+    void leavesUntouchedSettingsAlone() throws SQLException {
+        final var con = dataSource.getConnection();
+
+        con.prepareStatement("select 1").close();
+
+        verify(pstmt, never()).setFetchSize(0);
+    }
+}
@@ -0,0 +1,112 @@
+package com.interface21.transaction.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+
+class TransactionSynchronizationManagerTest {
+
+    @Test
+    void bindAndUnbindSingleDataSource() {
+        final var dataSource = mock(DataSource.class);
+        final var connection = mock(Connection.class);
+
+        TransactionSynchronizationManager.bindResource(dataSource, connection);
+        assertThat(TransactionSynchronizationManager.getResource(dataSource)).isSameAs(connection);
+
+        assertThat(TransactionSynchronizationManager.unbindResource(dataSource)).isSameAs(connection);
+        assertThat(TransactionSynchronizationManager.getResource(dataSource)).isNull();
+    }
+
+    @Test
+    void bindSeveralDataSources() {
+        final var first = mock(DataSource.class);
+        final var second = mock(DataSource.class);
+        final var firstConnection = mock(Connection.class);
+        final var secondConnection = mock(Connection.class);
+
+        TransactionSynchronizationManager.bindResource(first, firstConnection);
+        TransactionSynchronizationManager.bindResource(second, secondConnection);
+
+        assertThat(TransactionSynchronizationManager.unbindResource(second)).isSameAs(secondConnection);
+        assertThat(TransactionSynchronizationManager.unbindResource(first)).isSameAs(firstConnection);
+    }
+
+    @Test
+    void rejectsDoubleBinding() {
+        final var dataSource = mock(DataSource.class);
+        TransactionSynchronizationManager.bindResource(dataSource, mock(Connection.class));
+
+        assertThatThrownBy(() -> TransactionSynchronizationManager.bindResource(dataSource, mock(Connection.class)))
+                .isInstanceOf(IllegalStateException.class);
+
+        TransactionSynchronizationManager.unbindResource(dataSource);
+    }
+
+    @Test
+    void unbindNotifiesSynchronizationsLeftByHandBoundTransaction() {
+        final var dataSource = mock(DataSource.class);
+        final var connection = mock(Connection.class);
+        final var outcomes = new ArrayList<Boolean>();
+        TransactionSynchronizationManager.bindResource(dataSource, connection);
+        TransactionSynchronizationManager.registerSynchronization(connection, recording(outcomes));
+        TransactionSynchronizationManager.setRollbackOnly(connection);
+
+        TransactionSynchronizationManager.unbindResource(dataSource);
+
+        assertThat(outcomes).containsExactly(false);
+        assertThat(TransactionSynchronizationManager.isRollbackOnly(connection)).isFalse();
+    }
+
+    @Test
+    void suspendedSynchronizationsSurviveUnbindUntilResumed() {
+        final var dataSource = mock(DataSource.class);
+        final var connection = mock(Connection.class);
+        final var outcomes = new ArrayList<Boolean>();
+        TransactionSynchronizationManager.bindResource(dataSource, connection);
+        TransactionSynchronizationManager.registerSynchronization(connection, recording(outcomes));
+
+        final var suspended = TransactionSynchronizationManager.suspendSynchronizations(connection);
+        TransactionSynchronizationManager.unbindResource(dataSource);
+        assertThat(outcomes).isEmpty();
+
+        TransactionSynchronizationManager.bindResource(dataSource, connection);
+        TransactionSynchronizationManager.resumeSynchronizations(connection, suspended);
+        TransactionSynchronizationManager.triggerAfterCompletion(connection, true);
+        TransactionSynchronizationManager.unbindResource(dataSource);
+
+        assertThat(outcomes).containsExactly(true);
+    }
+
+    @Test
+    void transactionStateIsKeptPerThread() throws InterruptedException {
+        final var connection = mock(Connection.class);
+        TransactionSynchronizationManager.setRollbackOnly(connection);
+        final var seenByOtherThread = new AtomicBoolean(true);
+
+        final var other = Thread.ofVirtual().start(() ->
+                seenByOtherThread.set(TransactionSynchronizationManager.isRollbackOnly(connection)));
+        other.join();
+
+        assertThat(seenByOtherThread).isFalse();
+        assertThat(TransactionSynchronizationManager.isRollbackOnly(connection)).isTrue();
+        TransactionSynchronizationManager.triggerAfterCompletion(connection, false);
+        assertThat(TransactionSynchronizationManager.isRollbackOnly(connection)).isFalse();
+    }
+
+    private TransactionSynchronization recording(List<Boolean> outcomes) {
+        return new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(boolean committed) {
+                outcomes.add(committed);
+            }
+        };
+    }
+}
@@ -0,0 +1,179 @@
+package com.interface21.transaction.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.interface21.jdbc.datasource.DataSourceTransactionManager;
+import com.interface21.transaction.Propagation;
+import com.interface21.transaction.TransactionDefinition;
+import com.interface21.transaction.TransactionException;
+import com.interface21.transaction.UnexpectedRollbackException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TransactionTemplateTest {
+
+    private DataSource dataSource;
+    private Connection connection;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = mock(DataSource.class);
+        connection = mock(Connection.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        final var autoCommit = new AtomicBoolean(true);
+        when(connection.getAutoCommit()).thenAnswer(invocation -> autoCommit.get());
+        doAnswer(invocation -> {
+            autoCommit.set(invocation.getArgument(0));
+            return null;
+        }).when(connection).setAutoCommit(anyBoolean());
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @Test
+    void requiredJoinsOuterTransaction() throws SQLException {
+        transactionTemplate.executeWithoutResult(outer ->
+                transactionTemplate.executeWithoutResult(inner -> assertThat(inner.isNewTransaction()).isFalse()));
+
+        verify(dataSource, times(1)).getConnection();
+        verify(connection, times(1)).commit();
+        verify(connection).close();
+        assertThat(TransactionSynchronizationManager.getResource(dataSource)).isNull();
+    }
+
+    @Test
+    void outerCommitRollsBackWhenCaughtRequiredParticipantFailed() throws SQLException {
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(outer -> {
+            try {
+                transactionTemplate.executeWithoutResult(inner -> {
+                    throw new IllegalStateException("inner failure");
+                });
+            } catch (IllegalStateException ignored) {
+                // 바깥 코드가 안쪽 실패를 삼켜도 물리 트랜잭션은 커밋되면 안 된다.
+            }
+        })).isInstanceOf(UnexpectedRollbackException.class);
+
+        verify(connection).rollback();
+        verify(connection, never()).commit();
+        verify(connection).close();
+        assertThat(TransactionSynchronizationManager.getResource(dataSource)).isNull();
+    }
+
+    @Test
+    void nestedRollbackClearsRollbackOnlyMarkOfParticipant() throws SQLException {
+        final var savepoint = mock(Savepoint.class);
+        when(connection.setSavepoint()).thenReturn(savepoint);
+        final var nested = transactionTemplate.with(TransactionDefinition.of(Propagation.NESTED));
+
+        transactionTemplate.executeWithoutResult(outer ->
+                assertThatThrownBy(() -> nested.executeWithoutResult(inNested ->
+                        transactionTemplate.executeWithoutResult(inner -> {
+                            throw new IllegalStateException("inner failure");
+                        }))).isInstanceOf(IllegalStateException.class));
+
+        verify(connection).rollback(savepoint);
+        verify(connection).commit();
+    }
+
+    @Test
+    void nestedRollbackKeepsRollbackOnlyMarkSetBeforeSavepoint() throws SQLException {
+        final var savepoint = mock(Savepoint.class);
+        when(connection.setSavepoint()).thenReturn(savepoint);
+        final var nested = transactionTemplate.with(TransactionDefinition.of(Propagation.NESTED));
+
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(outer -> {
+            assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(inner -> {
+                throw new IllegalStateException("participant failure");
+            })).isInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(() -> nested.executeWithoutResult(inNested -> {
+                throw new IllegalStateException("nested failure");
+            })).isInstanceOf(IllegalStateException.class);
+        })).isInstanceOf(UnexpectedRollbackException.class);
+
+        verify(connection).rollback(savepoint);
+        verify(connection).rollback();
+        verify(connection, never()).commit();
+    }
+
+    @Test
+    void nestedRejectsAutoCommitOuterTransaction() throws SQLException {
+        final var nested = transactionTemplate.with(TransactionDefinition.of(Propagation.NESTED));
+
+        transactionTemplate.with(TransactionDefinition.READ_ONLY).executeWithoutResult(outer ->
+                assertThatThrownBy(() -> nested.executeWithoutResult(inner -> {
+                })).isInstanceOf(TransactionException.class)
+                        .hasMessageContaining("auto-commit"));
+
+        verify(connection, never()).setSavepoint();
+        verify(connection).close();
+        assertThat(TransactionSynchronizationManager.getResource(dataSource)).isNull();
+    }
+
+    @Test
+    void requiresNewSuspendsOuterTransaction() throws SQLException {
+        final var requiresNew = transactionTemplate.with(TransactionDefinition.of(Propagation.REQUIRES_NEW));
+
+        transactionTemplate.executeWithoutResult(outer -> {
+            requiresNew.executeWithoutResult(inner -> assertThat(inner.isNewTransaction()).isTrue());
+            assertThat(TransactionSynchronizationManager.getResource(dataSource)).isSameAs(connection);
+        });
+
+        verify(dataSource, times(2)).getConnection();
+    }
+
+    @Test
+    void nestedRollsBackToSavepoint() throws SQLException {
+        final var savepoint = mock(Savepoint.class);
+        when(connection.setSavepoint()).thenReturn(savepoint);
+        final var nested = transactionTemplate.with(TransactionDefinition.of(Propagation.NESTED));
+
+        transactionTemplate.executeWithoutResult(outer ->
+                assertThatThrownBy(() -> nested.executeWithoutResult(inner -> {
+                    throw new IllegalStateException("nested failure");
+                })).isInstanceOf(IllegalStateException.class));
+
+        verify(connection).rollback(savepoint);
+        verify(connection, never()).rollback();
+        verify(connection).commit();
+    }
+
+    @Test
+    void readOnlySkipsCommitRoundTrip() throws SQLException {
+        transactionTemplate.with(TransactionDefinition.READ_ONLY)
+                .executeWithoutResult(status -> assertThat(status.isReadOnly()).isTrue());
+
+        verify(connection).setReadOnly(true);
+        verify(connection, never()).setAutoCommit(false);
+        verify(connection, never()).commit();
+        verify(connection).setReadOnly(false);
+    }
+
+    @Test
+    void readOnlyUsesReplicaWhenConfigured() throws SQLException {
+        final var replica = mock(DataSource.class);
+        final var replicaConnection = mock(Connection.class);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        when(replicaConnection.getAutoCommit()).thenReturn(true);
+        final var transactionManager = new DataSourceTransactionManager(dataSource);
+        transactionManager.setReadOnlyDataSource(replica);
+
+        new TransactionTemplate(transactionManager, TransactionDefinition.READ_ONLY).executeWithoutResult(status ->
+                assertThat(TransactionSynchronizationManager.getResource(dataSource)).isSameAs(replicaConnection));
+
+        verify(dataSource, never()).getConnection();
+        verify(replicaConnection).close();
+    }
+}